@@ -0,0 +1,105 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.forum.persistence.QuestionsEntity;
+import com.example.demo.forum.persistence.QuestionsRepository;
+import com.example.demo.forum.persistence.RepliesEntity;
+import com.example.demo.forum.persistence.RepliesRepository;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark inserting 100k questions and replies through {@link QuestionsRepository#saveAll(Iterable)}.
+ * Compares JDBC batching switched off (batch size 1) with the configured batch size, both with pooled-lo id allocation.
+ * Not part of the regular build, run with {@code mvn test -Pbenchmark}.
+ *
+ * @author Sathish Pendem
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+public class QuestionsInsertBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(QuestionsInsertBenchmark.class);
+    private static final int POSTS = 100_000;
+    private static final int POSTS_PER_TRANSACTION = 1_000;
+
+    @Autowired
+    private QuestionsRepository repository;
+    @Autowired
+    private RepliesRepository repliesRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * Inserts 100k posts without and with JDBC batching.
+     *
+     * @result Batched inserts issue far fewer statements than unbatched inserts.
+     */
+    @Test
+    public void insertPosts_batchedVersusUnbatched() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        long unbatchedStatements = insertPosts(statistics, 1);
+        long batchedStatements = insertPosts(statistics, null);
+
+        assertThat(batchedStatements * 10).isLessThan(unbatchedStatements);
+    }
+
+    private long insertPosts(Statistics statistics, Integer jdbcBatchSize) {
+        statistics.clear();
+        long start = System.nanoTime();
+        for (int inserted = 0; inserted < POSTS; inserted += POSTS_PER_TRANSACTION) {
+            transactionTemplate.execute(status -> {
+                entityManager.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+                List<QuestionsEntity> questions = repository.saveAll(createQuestions(POSTS_PER_TRANSACTION / 2));
+                List<RepliesEntity> replies = new ArrayList<>();
+                questions.forEach(question -> replies.add(createReply(question.getId())));
+                return repliesRepository.saveAll(replies);
+            });
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        log.info("Inserted {} posts with jdbc batch size {} in {} ms ({} posts/s), {} statements prepared.",
+                POSTS, jdbcBatchSize == null ? "default" : jdbcBatchSize, elapsedMillis,
+                POSTS * 1000L / Math.max(elapsedMillis, 1), statistics.getPrepareStatementCount());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private List<QuestionsEntity> createQuestions(int count) {
+        List<QuestionsEntity> questions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            questions.add(QuestionsEntity.builder()
+                    .author("benchmark")
+                    .message("benchmark message " + i)
+                    .build());
+        }
+        return questions;
+    }
+
+    private RepliesEntity createReply(Long questionId) {
+        return RepliesEntity.builder()
+                .author("benchmark")
+                .message("benchmark reply")
+                .questionId(questionId)
+                .build();
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.DemoApplication;
+import com.example.demo.forum.persistence.QuestionsEntity;
+import com.example.demo.forum.persistence.QuestionsRepository;
+import com.example.demo.forum.persistence.RepliesEntity;
+import com.example.demo.forum.persistence.RepliesRepository;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Load test of the read endpoints with 5k concurrent clients, served on the Tomcat worker thread pool
+ * and then on virtual threads ({@code spring.threads.virtual.enabled}).
+ * Every client is a virtual thread sending one request at a time for the measured period, connections are pooled
+ * by a shared HTTP client.
+ * Not part of the regular build, run with {@code mvn test -Pbenchmark -Dtest=QuestionsLoadBenchmark}.
+ *
+ * @author Sathish Pendem
+ */
+public class QuestionsLoadBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(QuestionsLoadBenchmark.class);
+    private static final int CLIENTS = 5_000;
+    private static final int QUESTIONS = 1_000;
+    private static final int REPLIES_PER_QUESTION = 10;
+    private static final Duration WARM_UP = Duration.ofSeconds(5);
+    private static final Duration MEASUREMENT = Duration.ofSeconds(20);
+
+    /**
+     * Runs the same load against both execution modes.
+     *
+     * @result Throughput, latency percentiles, errors and peak platform threads of both modes are logged.
+     */
+    @Test
+    public void readEndpoints_threadPoolVersusVirtualThreads() throws Exception {
+        Result threadPool = run(false);
+        Result virtualThreads = run(true);
+
+        log.info("Thread pool:     {}", threadPool);
+        log.info("Virtual threads: {}", virtualThreads);
+        assertThat(threadPool.requests).isGreaterThan(0);
+        assertThat(virtualThreads.requests).isGreaterThan(0);
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(DemoApplication.class)
+                .properties("server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "spring.datasource.url=jdbc:h2:mem:load" + virtualThreads,
+                        "spring.jpa.show-sql=false",
+                        "logging.level.com.example.demo.forum.exceptions=off")
+                .run()) {
+            List<Long> questionIds = seed(context.getBean(QuestionsRepository.class), context.getBean(RepliesRepository.class));
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            load(baseUrl, questionIds, WARM_UP);
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            threads.resetPeakThreadCount();
+            Result result = load(baseUrl, questionIds, MEASUREMENT);
+            result.peakPlatformThreads = threads.getPeakThreadCount();
+            return result;
+        }
+    }
+
+    private List<Long> seed(QuestionsRepository repository, RepliesRepository repliesRepository) {
+        List<QuestionsEntity> questions = new ArrayList<>();
+        for (int i = 0; i < QUESTIONS; i++) {
+            questions.add(QuestionsEntity.builder().author("load").message("load question " + i).build());
+        }
+        List<Long> questionIds = new ArrayList<>();
+        repository.saveAll(questions).forEach(question -> questionIds.add(question.getId()));
+        List<RepliesEntity> replies = new ArrayList<>();
+        questionIds.forEach(questionId -> {
+            for (int i = 0; i < REPLIES_PER_QUESTION; i++) {
+                replies.add(RepliesEntity.builder().author("load").message("load reply " + i).questionId(questionId).build());
+            }
+        });
+        repliesRepository.saveAll(replies);
+        return questionIds;
+    }
+
+    /**
+     * Every client alternates between a page of questions and a page of replies of a random question.
+     */
+    private Result load(String baseUrl, List<Long> questionIds, Duration duration) throws Exception {
+        Map<String, Long> errors = new ConcurrentHashMap<>();
+        long end = System.nanoTime() + duration.toNanos();
+        List<Future<List<Long>>> clients = new ArrayList<>();
+        List<Long> latencies = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).executor(executor).build()) {
+            for (int client = 0; client < CLIENTS; client++) {
+                clients.add(executor.submit(() -> {
+                    List<Long> clientLatencies = new ArrayList<>();
+                    for (int request = 0; System.nanoTime() < end; request++) {
+                        String path = request % 2 == 0
+                                ? "/questions?limit=50"
+                                : "/questions/" + questionIds.get(ThreadLocalRandom.current().nextInt(questionIds.size())) + "/replies";
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = http.send(HttpRequest.newBuilder(URI.create(baseUrl + path))
+                                    .header("Content-Type", "application/json")  // the API consumes application/json only
+                                    .timeout(Duration.ofSeconds(30))
+                                    .build(), HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.merge("HTTP " + response.statusCode(), 1L, Long::sum);
+                            }
+                        } catch (Exception ex) {
+                            errors.merge(ex.getClass().getSimpleName(), 1L, Long::sum);
+                        }
+                        clientLatencies.add(System.nanoTime() - start);
+                    }
+                    return clientLatencies;
+                }));
+            }
+            for (Future<List<Long>> client : clients) {
+                latencies.addAll(client.get());
+            }
+        }
+        Collections.sort(latencies);
+        return new Result(latencies, errors, duration);
+    }
+
+    private static class Result {
+        private final long requests;
+        private final Map<String, Long> errors;
+        private final long throughput;
+        private final long p50Millis;
+        private final long p99Millis;
+        private int peakPlatformThreads;
+
+        Result(List<Long> latencies, Map<String, Long> errors, Duration duration) {
+            this.requests = latencies.size();
+            this.errors = errors;
+            this.throughput = requests / Math.max(duration.getSeconds(), 1);
+            this.p50Millis = percentile(latencies, 0.50) / 1_000_000;
+            this.p99Millis = percentile(latencies, 0.99) / 1_000_000;
+        }
+
+        private static long percentile(List<Long> sortedLatencies, double percentile) {
+            return sortedLatencies.isEmpty() ? 0 : sortedLatencies.get((int) (percentile * (sortedLatencies.size() - 1)));
+        }
+
+        @Override
+        public String toString() {
+            return requests + " requests, " + throughput + " req/s, p50 " + p50Millis + " ms, p99 " + p99Millis
+                    + " ms, errors " + errors + ", " + peakPlatformThreads + " peak platform threads";
+        }
+    }
+}
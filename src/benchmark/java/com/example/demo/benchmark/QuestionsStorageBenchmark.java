@@ -0,0 +1,115 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.DemoApplication;
+import com.example.demo.forum.delegates.QuestionControllerDelegate;
+import com.example.demo.forum.model.PostQuestionReplyBody;
+import com.example.demo.forum.persistence.QuestionsRepository;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark of the same workload against the default in-memory H2 DB and the {@code persistent} profile
+ * (H2 file DB in target/benchmark). Questions and replies are posted one per request, then pages of replies are read
+ * with an explicit limit, which bypasses the question details cache. A first in-memory run warms up the JIT and
+ * is not measured.
+ * The persistent DB is then reopened to measure the warm-up and the first reads after a restart.
+ * Not part of the regular build, run with {@code mvn test -Pbenchmark -Dtest=QuestionsStorageBenchmark}.
+ *
+ * @author Sathish Pendem
+ */
+public class QuestionsStorageBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(QuestionsStorageBenchmark.class);
+    private static final int QUESTIONS = 2_000;
+    private static final int REPLIES = 20_000;
+    private static final int READS = 20_000;
+    private static final Path STORAGE = Path.of("target", "benchmark");
+    private static final PostQuestionReplyBody BODY = PostQuestionReplyBody.builder()
+            .author("benchmark")
+            .message("benchmark message")
+            .build();
+
+    /**
+     * Runs the workload against both storage profiles.
+     *
+     * @result Write and read throughput of both profiles is logged, data of the persistent profile survives a restart.
+     */
+    @Test
+    public void readsAndWrites_inMemoryVersusPersistent() throws Exception {
+        FileSystemUtils.deleteRecursively(STORAGE);
+
+        List<Long> questionIds = new ArrayList<>();
+        try (ConfigurableApplicationContext context = start()) {
+            run(context.getBean(QuestionControllerDelegate.class), questionIds);  // JIT warm-up, not measured
+        }
+
+        questionIds.clear();
+        String inMemory;
+        try (ConfigurableApplicationContext context = start()) {
+            inMemory = run(context.getBean(QuestionControllerDelegate.class), questionIds);
+        }
+
+        questionIds.clear();
+        String persistent;
+        try (ConfigurableApplicationContext context = start("persistent")) {
+            persistent = run(context.getBean(QuestionControllerDelegate.class), questionIds);
+        }
+
+        long start = System.nanoTime();
+        String restarted;
+        try (ConfigurableApplicationContext context = start("persistent")) {
+            long startupMillis = (System.nanoTime() - start) / 1_000_000;
+            assertThat(context.getBean(QuestionsRepository.class).count()).isEqualTo(QUESTIONS);
+            restarted = "startup with warm-up " + startupMillis + " ms, " + read(context.getBean(QuestionControllerDelegate.class), questionIds);
+        }
+
+        log.info("In-memory:            {}", inMemory);
+        log.info("Persistent:           {}", persistent);
+        log.info("Persistent restarted: {}", restarted);
+    }
+
+    private ConfigurableApplicationContext start(String... profiles) {
+        return new SpringApplicationBuilder(DemoApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles(profiles)
+                // Arguments rather than default properties, which the profile and test configuration files override.
+                .run("--forum.storage.path=" + STORAGE.resolve("forum").toAbsolutePath(),
+                        "--spring.jpa.show-sql=false",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=warn",
+                        "--logging.level.com.example.demo.forum.persistence=info",
+                        "--logging.level.com.example.demo.benchmark=info");
+    }
+
+    private String run(QuestionControllerDelegate delegate, List<Long> questionIds) {
+        long start = System.nanoTime();
+        for (int i = 0; i < QUESTIONS; i++) {
+            questionIds.add(delegate.addQuestion(BODY).getBody().getId());
+        }
+        for (int i = 0; i < REPLIES; i++) {
+            delegate.createReply(questionIds.get(ThreadLocalRandom.current().nextInt(questionIds.size())), BODY);
+        }
+        long writes = (QUESTIONS + REPLIES) * 1_000_000_000L / (System.nanoTime() - start);
+        return writes + " posts/s, " + read(delegate, questionIds);
+    }
+
+    private String read(QuestionControllerDelegate delegate, List<Long> questionIds) {
+        long start = System.nanoTime();
+        for (int i = 0; i < READS; i++) {
+            delegate.getQuestionDetails(questionIds.get(ThreadLocalRandom.current().nextInt(questionIds.size())), null, 50);
+        }
+        return READS * 1_000_000_000L / (System.nanoTime() - start) + " reads/s";
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.demo.benchmark.jmh;
+
+import com.example.demo.DemoApplication;
+import com.example.demo.forum.delegates.QuestionControllerDelegate;
+import com.example.demo.forum.delegates.QuestionsBulkWriter;
+import com.example.demo.forum.model.PostQuestionReplyBody;
+import com.example.demo.forum.model.PostReplyResponse;
+import com.example.demo.forum.model.QuestionDetails;
+import com.example.demo.forum.model.QuestionsListResponse;
+import com.example.demo.forum.model.QuestionsResponse;
+import com.example.demo.forum.persistence.QuestionsEntity;
+import com.example.demo.forum.persistence.RepliesEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of the {@link QuestionControllerDelegate} hot paths against an embedded H2 DB.
+ * The DB is seeded once per trial with {@code posts} posts, one question for every ten posts and the remaining
+ * posts as replies, spread over the questions either uniformly or following a Zipf distribution (skewed).
+ * Questions read by the benchmarks are picked with the same distribution.
+ * Reports throughput and sampled latency percentiles, allocation rate is reported by the gc profiler
+ * configured in the benchmark profile.
+ * Run with {@code mvn test-compile exec:exec -Pbenchmark}.
+ *
+ * @author Sathish Pendem
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class QuestionsApiBenchmark {
+
+    private static final int SEED_CHUNK_SIZE = 1000;
+    private static final int PAGE_SIZE = 50;
+    private static final PostQuestionReplyBody BODY = PostQuestionReplyBody.builder()
+            .author("benchmark")
+            .message("benchmark message")
+            .build();
+
+    @Param({"1000", "100000", "1000000"})
+    public int posts;
+
+    @Param({"uniform", "skewed"})
+    public String replyDistribution;
+
+    private ConfigurableApplicationContext context;
+    private QuestionControllerDelegate delegate;
+    private long[] questionIds;
+    private double[] cumulativeWeights;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(DemoApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=warn")
+                .run();
+        delegate = context.getBean(QuestionControllerDelegate.class);
+        seed(context.getBean(QuestionsBulkWriter.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ResponseEntity<QuestionDetails> addQuestion() {
+        return delegate.addQuestion(BODY);
+    }
+
+    @Benchmark
+    public ResponseEntity<PostReplyResponse> createReply() {
+        return delegate.createReply(nextQuestionId(), BODY);
+    }
+
+    @Benchmark
+    public ResponseEntity<QuestionsListResponse> getListOfQuestions() {
+        return delegate.getListOfQuestions(questionIds[ThreadLocalRandom.current().nextInt(questionIds.length)], null);
+    }
+
+    /**
+     * Default request for question details, served by the question details cache after the first read.
+     */
+    @Benchmark
+    public ResponseEntity<QuestionsResponse> getQuestionDetails() {
+        return delegate.getQuestionDetails(nextQuestionId(), null, null);
+    }
+
+    /**
+     * Question details with an explicit page size, which bypasses the cache and always reads the DB.
+     */
+    @Benchmark
+    public ResponseEntity<QuestionsResponse> getQuestionDetailsUncached() {
+        return delegate.getQuestionDetails(nextQuestionId(), null, PAGE_SIZE);
+    }
+
+    private long nextQuestionId() {
+        double point = ThreadLocalRandom.current().nextDouble() * cumulativeWeights[cumulativeWeights.length - 1];
+        int index = Arrays.binarySearch(cumulativeWeights, point);
+        return questionIds[index >= 0 ? index : Math.min(-index - 1, questionIds.length - 1)];
+    }
+
+    private void seed(QuestionsBulkWriter bulkWriter) {
+        int questions = Math.max(posts / 10, 1);
+        questionIds = new long[questions];
+        cumulativeWeights = new double[questions];
+        double total = 0;
+        for (int rank = 0; rank < questions; rank++) {
+            total += "skewed".equals(replyDistribution) ? 1.0 / (rank + 1) : 1.0;
+            cumulativeWeights[rank] = total;
+        }
+
+        for (int from = 0; from < questions; from += SEED_CHUNK_SIZE) {
+            List<QuestionsEntity> saved = bulkWriter.saveQuestions(createQuestions(Math.min(SEED_CHUNK_SIZE, questions - from)));
+            for (int i = 0; i < saved.size(); i++) {
+                questionIds[from + i] = saved.get(i).getId();
+            }
+        }
+        for (int from = questions; from < posts; from += SEED_CHUNK_SIZE) {
+            List<RepliesEntity> replies = new ArrayList<>();
+            for (int i = 0; i < Math.min(SEED_CHUNK_SIZE, posts - from); i++) {
+                replies.add(RepliesEntity.builder()
+                        .author(BODY.getAuthor())
+                        .message(BODY.getMessage())
+                        .questionId(nextQuestionId())
+                        .build());
+            }
+            bulkWriter.saveReplies(replies);
+        }
+    }
+
+    private List<QuestionsEntity> createQuestions(int count) {
+        List<QuestionsEntity> entities = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            entities.add(QuestionsEntity.builder()
+                    .author(BODY.getAuthor())
+                    .message(BODY.getMessage())
+                    .build());
+        }
+        return entities;
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.demo.benchmark.jmh;
+
+import com.example.demo.DemoApplication;
+import com.example.demo.forum.delegates.QuestionsBulkWriter;
+import com.example.demo.forum.model.QuestionDetails;
+import com.example.demo.forum.model.QuestionsResponse;
+import com.example.demo.forum.model.ReplyDetails;
+import com.example.demo.forum.persistence.QuestionRepliesRow;
+import com.example.demo.forum.persistence.QuestionsEntity;
+import com.example.demo.forum.persistence.QuestionsReadRepository;
+import com.example.demo.forum.persistence.QuestionsRepository;
+import com.example.demo.forum.persistence.RepliesEntity;
+import com.example.demo.forum.persistence.RepliesRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * JMH benchmark of the read queries of getListOfQuestions and getQuestionDetails, comparing the entity path, which
+ * loads managed {@link QuestionsEntity} and {@link RepliesEntity} objects and copies their fields into the response
+ * models, with the projection path of {@link QuestionsReadRepository}, which maps rows straight into the response models.
+ * Both paths read the same page of {@code pageSize} questions or replies in one transaction, the entity path in a
+ * read-write transaction as the read endpoints did before. Compare the average time per operation and
+ * {@code gc.alloc.rate.norm} (bytes allocated per operation) reported by the gc profiler.
+ * Run with {@code mvn test-compile exec:exec -Pbenchmark -Djmh.args="QuestionsReadPathBenchmark"}.
+ *
+ * @author Sathish Pendem
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class QuestionsReadPathBenchmark {
+
+    private static final int QUESTIONS = 1000;
+    private static final int REPLIES_PER_QUESTION = 100;
+
+    @Param({"10", "50"})
+    public int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private QuestionsRepository repository;
+    private RepliesRepository repliesRepository;
+    private QuestionsReadRepository readRepository;
+    private TransactionTemplate transactionTemplate;
+    private EntityManager entityManager;
+    private long[] questionIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(DemoApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=warn")
+                .run();
+        repository = context.getBean(QuestionsRepository.class);
+        repliesRepository = context.getBean(RepliesRepository.class);
+        readRepository = context.getBean(QuestionsReadRepository.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        entityManager = context.getBean(EntityManager.class);
+        seed(context.getBean(QuestionsBulkWriter.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Page of questions read as entities and copied into {@link QuestionDetails}.
+     */
+    @Benchmark
+    public List<QuestionDetails> listEntityPath() {
+        long after = nextQuestionId() - 1;
+        return transactionTemplate.execute(status -> entityManager.createQuery(
+                        "select q from QuestionsEntity q where q.id > :after order by q.id", QuestionsEntity.class)
+                .setParameter("after", after)
+                .setMaxResults(pageSize)
+                .getResultList()
+                .stream()
+                .map(question -> QuestionDetails.builder()
+                        .id(question.getId())
+                        .author(question.getAuthor())
+                        .message(question.getMessage())
+                        .replies(question.getReplyCount())
+                        .build())
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Page of questions read straight into {@link QuestionDetails}.
+     */
+    @Benchmark
+    public List<QuestionDetails> listProjectionPath() {
+        return readRepository.findQuestions(nextQuestionId() - 1, PageRequest.of(0, pageSize));
+    }
+
+    /**
+     * Question entity and a page of reply entities copied into {@link QuestionsResponse}.
+     */
+    @Benchmark
+    public QuestionsResponse detailsEntityPath() {
+        long questionId = nextQuestionId();
+        return transactionTemplate.execute(status -> {
+            QuestionsEntity question = repository.findById(questionId).orElseThrow(IllegalStateException::new);
+            return QuestionsResponse.builder()
+                    .id(question.getId())
+                    .author(question.getAuthor())
+                    .message(question.getMessage())
+                    .replies(repliesRepository.findByQuestionIdAndIdGreaterThanOrderByIdAsc(questionId, 0L, PageRequest.of(0, pageSize))
+                            .stream()
+                            .map(reply -> ReplyDetails.builder()
+                                    .id(reply.getId())
+                                    .author(reply.getAuthor())
+                                    .message(reply.getMessage())
+                                    .build())
+                            .collect(Collectors.toList()))
+                    .build();
+        });
+    }
+
+    /**
+     * Question and a page of replies read with one joined query straight into {@link QuestionsResponse}.
+     */
+    @Benchmark
+    public QuestionsResponse detailsProjectionPath() {
+        List<QuestionRepliesRow> rows = readRepository.findQuestionWithReplies(nextQuestionId(), 0L, PageRequest.of(0, pageSize));
+        QuestionRepliesRow question = rows.get(0);
+        return QuestionsResponse.builder()
+                .id(question.getId())
+                .author(question.getAuthor())
+                .message(question.getMessage())
+                .replies(rows.stream()
+                        .map(row -> new ReplyDetails(row.getReplyId(), row.getReplyAuthor(), row.getReplyMessage()))
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
+    private long nextQuestionId() {
+        return questionIds[ThreadLocalRandom.current().nextInt(questionIds.length - pageSize)];
+    }
+
+    private void seed(QuestionsBulkWriter bulkWriter) {
+        List<QuestionsEntity> questions = new ArrayList<>(QUESTIONS);
+        for (int i = 0; i < QUESTIONS; i++) {
+            questions.add(QuestionsEntity.builder()
+                    .author("benchmark")
+                    .message("benchmark message")
+                    .build());
+        }
+        List<QuestionsEntity> saved = bulkWriter.saveQuestions(questions);
+        questionIds = saved.stream().mapToLong(QuestionsEntity::getId).toArray();
+        for (long questionId : questionIds) {
+            List<RepliesEntity> replies = new ArrayList<>(REPLIES_PER_QUESTION);
+            for (int i = 0; i < REPLIES_PER_QUESTION; i++) {
+                replies.add(RepliesEntity.builder()
+                        .author("benchmark")
+                        .message("benchmark reply")
+                        .questionId(questionId)
+                        .build());
+            }
+            bulkWriter.saveReplies(replies);
+        }
+    }
+}
@@ -4,9 +4,11 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.annotation.EnableCaching;
 
 @SpringBootApplication
 @EnableConfigurationProperties
+@EnableCaching  // cache manager of spring.cache, question details are cached and evicted by QuestionDetailsCache
 @EntityScan(basePackages = {"com.example.demo.forum.persistence"})  // scan JPA entities
 public class DemoApplication {
 
@@ -0,0 +1,27 @@
+package com.example.demo.forum.api;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Configuration of the cache of serialized question details, bound from {@code forum.json-cache}.
+ *
+ * @author Sathish Pendem
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "forum.json-cache")
+public class JsonCacheProperties {
+
+    /**
+     * Write question details from cached JSON bytes instead of serializing them on every request.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Maximum size of the cached JSON and gzip bytes, entries are evicted once it is reached.
+     */
+    private DataSize maximumSize = DataSize.ofMegabytes(32);
+}
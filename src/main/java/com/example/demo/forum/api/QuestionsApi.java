@@ -5,24 +5,41 @@
  */
 package com.example.demo.forum.api;
 
+import com.example.demo.forum.model.BulkPostResult;
+import com.example.demo.forum.model.BulkReplyBody;
+import com.example.demo.forum.model.PostDetails;
 import com.example.demo.forum.model.PostQuestionReplyBody;
 import com.example.demo.forum.model.PostReplyResponse;
 import com.example.demo.forum.model.QuestionDetails;
+import com.example.demo.forum.model.QuestionResult;
+import com.example.demo.forum.model.QuestionsListResponse;
 import com.example.demo.forum.model.QuestionsResponse;
+import com.example.demo.forum.model.RepliesListResponse;
+import com.example.demo.forum.model.ReplyDetails;
+import com.example.demo.forum.model.SearchResponse;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import javax.validation.Valid;
+import jakarta.validation.Valid;
 import java.util.List;
 
-@javax.annotation.Generated(value = "io.swagger.codegen.languages.SpringCodegen", date = "2020-09-20T00:54:17.931Z")
+@jakarta.annotation.Generated(value = "io.swagger.codegen.languages.SpringCodegen", date = "2020-09-20T00:54:17.931Z")
 /**
  * QuestionsApi Definitions. Generated Using Swagger Codegen:Spring.
  * API definitions include:
  *  1. addQuestion: Post Request to create a new question.
  *  2. createReply: Post Request to create a new Reply to an existing question.
- *  3. getListOfQuestions: Get request to read all questions from DB.
+ *  3. getListOfQuestions: Get request to read a page of questions from DB.
  *  4. getQuestionDetails: Get requset to real an input question Details.
+ *  5. getReplies: Get request to read a page of replies of an input question.
+ *  6. exportPosts: Get request to stream all questions and replies from DB.
+ *  7. addQuestions: Post Request to create many new questions.
+ *  8. createReplies: Post Request to create many new Replies to existing questions.
+ *  9. searchPosts: Get request to find the questions and replies matching a query.
+ * 10. getQuestions: Get request to read many questions by id.
+ * 11. streamReplies: Get request to receive the new replies of an input question as Server-Sent Events.
  *
  *  Security: None
  * @Generated SwaggerIO
@@ -59,23 +76,121 @@ public interface QuestionsApi {
     /**
      * getListOfQuestions endpoint definition.
      *
-     * @return list of all questions in the database of type {@link List<QuestionDetails>}
+     * @param after       last question id of the previous page, omitted to read the first page.
+     * @param limit       maximum number of questions in the page.
+     * @param ifNoneMatch ETags of the list the client already has, answered with 304 if one is current.
+     * @return page of questions in the database of type {@link QuestionsListResponse}
      */
     @RequestMapping(value = "/questions",
             produces = {"application/json"},
             consumes = {"application/json"},
             method = RequestMethod.GET)
-    ResponseEntity<List<QuestionDetails>> getListOfQuestions();
+    ResponseEntity<QuestionsListResponse> getListOfQuestions(@RequestParam(value = "after", required = false) Long after,
+                                                             @RequestParam(value = "limit", required = false) Integer limit,
+                                                             @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch);
+
+    /**
+     * getQuestions endpoint definition.
+     *
+     * @param ids comma separated ids of the questions to read.
+     * @return result of every id in request order of type {@link QuestionResult}
+     */
+    @RequestMapping(value = "/questions/batch",
+            produces = {"application/json"},
+            consumes = {"application/json"},
+            method = RequestMethod.GET)
+    ResponseEntity<List<QuestionResult>> getQuestions(@RequestParam(value = "ids", required = false) List<Long> ids);
 
     /**
      * getQuestionDetials endpoint definition.
      *
      * @param questionId input questionId to extract the details.
+     * @param after      last reply id of the previous page, omitted to read the first page of replies.
+     * @param limit       maximum number of replies to return, 0 to read only the question.
+     * @param ifNoneMatch ETags of the question the client already has, answered with 304 if one is current.
      * @return questionDetails of the input question requested of type{@link QuestionsResponse}
      */
     @RequestMapping(value = "/questions/{questionId}",
             produces = {"application/json"},
             consumes = {"application/json"},
             method = RequestMethod.GET)
-    ResponseEntity<QuestionsResponse> getQuestionDetails(@PathVariable("questionId") Long questionId);
+    ResponseEntity<QuestionsResponse> getQuestionDetails(@PathVariable("questionId") Long questionId,
+                                                         @RequestParam(value = "after", required = false) Long after,
+                                                         @RequestParam(value = "limit", required = false) Integer limit,
+                                                         @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch);
+
+    /**
+     * getReplies endpoint definition.
+     *
+     * @param questionId input questionId to read the replies.
+     * @param after      last reply id of the previous page, omitted to read the first page.
+     * @param limit      maximum number of replies in the page.
+     * @return page of replies of the input question of type {@link RepliesListResponse}
+     */
+    @RequestMapping(value = "/questions/{questionId}/replies",
+            produces = {"application/json"},
+            consumes = {"application/json"},
+            method = RequestMethod.GET)
+    ResponseEntity<RepliesListResponse> getReplies(@PathVariable("questionId") Long questionId,
+                                                   @RequestParam(value = "after", required = false) Long after,
+                                                   @RequestParam(value = "limit", required = false) Integer limit);
+
+    /**
+     * streamReplies endpoint definition.
+     *
+     * @param questionId input questionId to receive the new replies of.
+     * @return stream of Server-Sent Events, one {@link ReplyDetails} per new reply.
+     */
+    @RequestMapping(value = "/questions/{questionId}/replies/stream",
+            produces = {"text/event-stream"},
+            method = RequestMethod.GET)
+    SseEmitter streamReplies(@PathVariable("questionId") Long questionId);
+
+    /**
+     * exportPosts endpoint definition.
+     *
+     * @return all questions and replies as newline delimited JSON, one {@link PostDetails} per line.
+     */
+    @RequestMapping(value = "/questions/export",
+            produces = {"application/x-ndjson"},
+            method = RequestMethod.GET)
+    ResponseEntity<StreamingResponseBody> exportPosts();
+
+    /**
+     * addQuestions endpoint definition.
+     *
+     * @param body list of questions of type {@link PostQuestionReplyBody}.
+     * @return result of every question in request order of type {@link BulkPostResult}
+     */
+    @RequestMapping(value = "/questions/bulk",
+            produces = {"application/json"},
+            consumes = {"application/json"},
+            method = RequestMethod.POST)
+    ResponseEntity<List<BulkPostResult>> addQuestions(@Valid @RequestBody(required = true) List<PostQuestionReplyBody> body);
+
+    /**
+     * createReplies endpoint definition.
+     *
+     * @param body list of question id and reply pairs of type {@link BulkReplyBody}.
+     * @return result of every reply in request order of type {@link BulkPostResult}
+     */
+    @RequestMapping(value = "/questions/replies/bulk",
+            produces = {"application/json"},
+            consumes = {"application/json"},
+            method = RequestMethod.POST)
+    ResponseEntity<List<BulkPostResult>> createReplies(@Valid @RequestBody(required = true) List<BulkReplyBody> body);
+
+    /**
+     * searchPosts endpoint definition.
+     *
+     * @param q     text to search for in the author and message of every question and reply.
+     * @param limit maximum number of posts to return.
+     * @return matching posts ordered by relevance of type {@link SearchResponse}
+     */
+    @RequestMapping(value = "/questions/search",
+            produces = {"application/json"},
+            consumes = {"application/json"},
+            method = RequestMethod.GET)
+    ResponseEntity<SearchResponse> searchPosts(@RequestParam(value = "q", required = false) String q,
+                                               @RequestParam(value = "limit", required = false) Integer limit);
 }
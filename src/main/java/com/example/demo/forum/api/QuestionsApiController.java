@@ -1,52 +1,116 @@
 package com.example.demo.forum.api;
 
 import com.example.demo.forum.delegates.QuestionControllerDelegate;
+import com.example.demo.forum.model.BulkPostResult;
+import com.example.demo.forum.model.BulkReplyBody;
 import com.example.demo.forum.model.PostQuestionReplyBody;
 import com.example.demo.forum.model.PostReplyResponse;
 import com.example.demo.forum.model.QuestionDetails;
+import com.example.demo.forum.model.QuestionResult;
+import com.example.demo.forum.model.QuestionsListResponse;
 import com.example.demo.forum.model.QuestionsResponse;
+import com.example.demo.forum.model.RepliesListResponse;
+import com.example.demo.forum.model.SearchResponse;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import javax.validation.Valid;
+import jakarta.validation.Valid;
 import java.util.List;
 
-@javax.annotation.Generated(value = "io.swagger.codegen.languages.SpringCodegen", date = "2020-09-20T00:54:17.931Z")
+@jakarta.annotation.Generated(value = "io.swagger.codegen.languages.SpringCodegen", date = "2020-09-20T00:54:17.931Z")
 /**
  * QuestionsApiController component extends {@link QuestionsApi} interface and
  * implements all rest services.
  * This component handovers the actual implementation to the delegate {@link QuestionControllerDelegate}
  * The delegate is injected via Constructor.
+ * Every operation is timed with the {@value #API_TIMER} timer tagged by operation name.
+ * Not registered in the {@code reactive} profile, which serves the api from {@link com.example.demo.forum.reactive}.
  * @generated SwaggerIO.
  */
 @Controller
+@Profile("!reactive")
 @RequiredArgsConstructor
 public class QuestionsApiController implements QuestionsApi {
 
     private static final Logger log = LoggerFactory.getLogger(QuestionsApiController.class);
+    static final String API_TIMER = "questions.api";
 
     private final QuestionControllerDelegate delegate;
 
+    @Timed(value = API_TIMER, extraTags = {"operation", "addQuestion"})
     public ResponseEntity<QuestionDetails> addQuestion(@Valid @RequestBody(required = true) PostQuestionReplyBody body) {
         return delegate.addQuestion(body);
     }
 
+    @Timed(value = API_TIMER, extraTags = {"operation", "createReply"})
     public ResponseEntity<PostReplyResponse> createReply(@PathVariable("questionId") Long questionId, @Valid @RequestBody PostQuestionReplyBody requestBody) {
         return delegate.createReply(questionId, requestBody);
     }
 
-    public ResponseEntity<List<QuestionDetails>> getListOfQuestions() {
-        return delegate.getListOfQuestions();
+    @Timed(value = API_TIMER, extraTags = {"operation", "getListOfQuestions"})
+    public ResponseEntity<QuestionsListResponse> getListOfQuestions(@RequestParam(value = "after", required = false) Long after,
+                                                                    @RequestParam(value = "limit", required = false) Integer limit,
+                                                                    @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        return delegate.listOfQuestionsNotModified(ifNoneMatch)
+                .orElseGet(() -> delegate.getListOfQuestions(after, limit));
     }
 
-    public ResponseEntity<QuestionsResponse> getQuestionDetails(@PathVariable("questionId") Long questionId) {
-        return delegate.getQuestionDetails(questionId);
+    @Timed(value = API_TIMER, extraTags = {"operation", "getQuestions"})
+    public ResponseEntity<List<QuestionResult>> getQuestions(@RequestParam(value = "ids", required = false) List<Long> ids) {
+        return delegate.getQuestions(ids);
+    }
+
+    @Timed(value = API_TIMER, extraTags = {"operation", "getQuestionDetails"})
+    public ResponseEntity<QuestionsResponse> getQuestionDetails(@PathVariable("questionId") Long questionId,
+                                                                @RequestParam(value = "after", required = false) Long after,
+                                                                @RequestParam(value = "limit", required = false) Integer limit,
+                                                                @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        return delegate.questionDetailsNotModified(questionId, ifNoneMatch)
+                .orElseGet(() -> delegate.getQuestionDetails(questionId, after, limit));
+    }
+
+    @Timed(value = API_TIMER, extraTags = {"operation", "getReplies"})
+    public ResponseEntity<RepliesListResponse> getReplies(@PathVariable("questionId") Long questionId,
+                                                          @RequestParam(value = "after", required = false) Long after,
+                                                          @RequestParam(value = "limit", required = false) Integer limit) {
+        return delegate.getReplies(questionId, after, limit);
+    }
+
+    @Timed(value = API_TIMER, extraTags = {"operation", "streamReplies"})
+    public SseEmitter streamReplies(@PathVariable("questionId") Long questionId) {
+        return delegate.streamReplies(questionId);
+    }
+
+    @Timed(value = API_TIMER, extraTags = {"operation", "exportPosts"})
+    public ResponseEntity<StreamingResponseBody> exportPosts() {
+        return delegate.exportPosts();
+    }
+
+    @Timed(value = API_TIMER, extraTags = {"operation", "addQuestions"})
+    public ResponseEntity<List<BulkPostResult>> addQuestions(@Valid @RequestBody(required = true) List<PostQuestionReplyBody> body) {
+        return delegate.addQuestions(body);
+    }
+
+    @Timed(value = API_TIMER, extraTags = {"operation", "createReplies"})
+    public ResponseEntity<List<BulkPostResult>> createReplies(@Valid @RequestBody(required = true) List<BulkReplyBody> body) {
+        return delegate.createReplies(body);
+    }
 
+    @Timed(value = API_TIMER, extraTags = {"operation", "searchPosts"})
+    public ResponseEntity<SearchResponse> searchPosts(@RequestParam(value = "q", required = false) String q,
+                                                      @RequestParam(value = "limit", required = false) Integer limit) {
+        return delegate.searchPosts(q, limit);
     }
 
 }
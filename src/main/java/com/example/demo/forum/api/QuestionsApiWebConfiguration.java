@@ -0,0 +1,24 @@
+package com.example.demo.forum.api;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.PathMatchConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Spring MVC settings of {@link QuestionsApi}.
+ *
+ * @author Sathish Pendem
+ */
+@Configuration
+public class QuestionsApiWebConfiguration implements WebMvcConfigurer {
+
+    /**
+     * Keeps accepting request paths with a trailing slash such as {@code /questions/},
+     * which Spring MVC 6 no longer matches by default.
+     */
+    @Override
+    @SuppressWarnings("deprecation")
+    public void configurePathMatch(PathMatchConfigurer configurer) {
+        configurer.setUseTrailingSlashMatch(true);
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.demo.forum.api;
+
+import com.example.demo.forum.model.QuestionsResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Tag;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.metrics.cache.CacheMetricsRegistrar;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.server.Compression;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cache of the serialized JSON of question details, keyed by their ETag, which is made of the question id and version.
+ * A reply increments the version of its question, so cached bytes never have to be invalidated.
+ * Only the default first page of getQuestionDetails is cached, the page the clients poll.
+ * When response compression is enabled and the JSON reaches {@code server.compression.min-response-size}, a gzip copy
+ * is cached too and sent to clients accepting gzip. The bytes are written to the response directly, Jackson and the
+ * compression of the servlet container are skipped on every request after the first.
+ * Cache hits and misses are exported as the {@value #CACHE_NAME} cache metrics.
+ * Only created in servlet web applications, where the server compression settings are available.
+ *
+ * @author Sathish Pendem
+ */
+@ControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Order(Ordered.LOWEST_PRECEDENCE)
+@EnableConfigurationProperties(JsonCacheProperties.class)
+public class QuestionsJsonCache implements ResponseBodyAdvice<Object> {
+
+    static final String CACHE_NAME = "questionDetailsJson";
+    /**
+     * Cache manager tag of the meters of this cache. Spring Boot tags the meters of the caches of the {@code cacheManager}
+     * bean with it, and Prometheus requires every meter of a name to have the same tag keys.
+     */
+    static final Tag CACHE_MANAGER_TAG = Tag.of("cache.manager", "cacheManager");
+
+    private final boolean enabled;
+    private final ObjectMapper objectMapper;
+    private final Compression compression;
+    private final Cache<String, SerializedJson> cache;
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public QuestionsJsonCache(JsonCacheProperties properties, ObjectMapper objectMapper, ServerProperties serverProperties,
+                              ObjectProvider<CacheMetricsRegistrar> cacheMetrics) {
+        this.enabled = properties.isEnabled();
+        this.objectMapper = objectMapper;
+        this.compression = serverProperties.getCompression();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaximumSize().toBytes())
+                .weigher((String eTag, SerializedJson json) -> json.size())
+                .recordStats()
+                .build();
+        if (enabled) {
+            // Registered like the caches of the cache manager, so its meters have the same tags.
+            cacheMetrics.ifAvailable(registrar -> registrar.bindCacheToRegistry(
+                    new CaffeineCache(CACHE_NAME, (Cache) cache), CACHE_MANAGER_TAG));
+        }
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return enabled && MappingJackson2HttpMessageConverter.class.isAssignableFrom(converterType);
+    }
+
+    /**
+     * Writes cached question details to the response and returns null so nothing else is written.
+     * Any other body, and question details of another page, are returned unchanged.
+     */
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (!(body instanceof QuestionsResponse) || !(request instanceof ServletServerHttpRequest)) {
+            return body;
+        }
+        HttpServletRequest servletRequest = ((ServletServerHttpRequest) request).getServletRequest();
+        String eTag = response.getHeaders().getETag();
+        if (eTag == null || servletRequest.getParameter("after") != null || servletRequest.getParameter("limit") != null) {
+            return body;
+        }
+        SerializedJson json = cache.get(eTag, key -> serialize(body));
+        boolean gzip = json.getGzip() != null && acceptsGzip(servletRequest);
+        byte[] bytes = gzip ? json.getGzip() : json.getJson();
+        HttpHeaders headers = response.getHeaders();
+        headers.setContentType(selectedContentType);
+        headers.setContentLength(bytes.length);
+        if (json.getGzip() != null) {
+            headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        if (gzip) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");  // The container does not compress it again.
+        }
+        try {
+            response.getBody().write(bytes);
+            response.flush();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return null;
+    }
+
+    private SerializedJson serialize(Object body) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            return new SerializedJson(json, compressible(json) ? gzip(json) : null);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private boolean compressible(byte[] json) {
+        return Boolean.TRUE.equals(compression.getEnabled())
+                && json.length >= compression.getMinResponseSize().toBytes()
+                && Arrays.stream(compression.getMimeTypes()).anyMatch(MediaType.APPLICATION_JSON_VALUE::equals);
+    }
+
+    private static byte[] gzip(byte[] json) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(json);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        for (String encoding : StringUtils.commaDelimitedListToStringArray(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            String trimmed = encoding.trim();
+            if (trimmed.equals("gzip") || (trimmed.startsWith("gzip;") && !trimmed.replace(" ", "").endsWith("q=0"))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * JSON of question details and its gzip copy, null if the JSON is not compressed.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    private static class SerializedJson {
+
+        private final byte[] json;
+        private final byte[] gzip;
+
+        int size() {
+            return json.length + (gzip == null ? 0 : gzip.length);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.demo.forum.delegates;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the coalescing of concurrent getQuestionDetails loads, bound from {@code forum.coalescing}.
+ *
+ * @author Sathish Pendem
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "forum.coalescing")
+public class CoalescingProperties {
+
+    /**
+     * Share one database load between concurrent requests for the same question page.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Maximum time a request waits for the load of another request, it fails with 503 once elapsed.
+     */
+    private Duration waitTimeout = Duration.ofSeconds(2);
+}
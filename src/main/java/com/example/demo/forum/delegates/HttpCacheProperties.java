@@ -0,0 +1,29 @@
+package com.example.demo.forum.delegates;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the Cache-Control header of getListOfQuestions and getQuestionDetails, bound from
+ * {@code forum.http-cache}.
+ *
+ * @author Sathish Pendem
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "forum.http-cache")
+public class HttpCacheProperties {
+
+    /**
+     * Time clients may use a response without revalidating it (max-age).
+     */
+    private Duration maxAge = Duration.ZERO;
+
+    /**
+     * Time shared caches such as a CDN may serve a response without revalidating it (s-maxage).
+     */
+    private Duration sharedMaxAge = Duration.ofSeconds(5);
+}
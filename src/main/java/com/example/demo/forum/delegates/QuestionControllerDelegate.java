@@ -2,22 +2,55 @@ package com.example.demo.forum.delegates;
 
 import com.example.demo.forum.exceptions.QuestionsApiException;
 import com.example.demo.forum.model.*;
+import com.example.demo.forum.persistence.PostEntity;
 import com.example.demo.forum.persistence.QuestionsEntity;
+import com.example.demo.forum.persistence.QuestionRepliesRow;
+import com.example.demo.forum.persistence.QuestionsIdAllocator;
+import com.example.demo.forum.persistence.QuestionsReadRepository;
 import com.example.demo.forum.persistence.QuestionsRepository;
+import com.example.demo.forum.persistence.RepliesEntity;
+import com.example.demo.forum.persistence.RepliesRepository;
+import com.example.demo.forum.search.QuestionsSearchIndex;
+import com.example.demo.forum.stream.RepliesStreamHub;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
-import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.example.demo.forum.delegates.QuestionsRequestValidator.validateInputRequest;
+import static com.example.demo.forum.delegates.QuestionsRequestValidator.validatePageSize;
 
 /**
  * Delegate for {@link com.example.demo.forum.api.QuestionsApiController} which implements the api endpoints.
- * {@link QuestionsRepository} is injected via constructor to provide support for jpa operations.
+ * {@link QuestionsRepository} and {@link RepliesRepository} are injected via constructor to provide support for jpa operations.
+ * {@link QuestionsReadRepository} is injected via constructor to read the responses of the read endpoints without loading entities.
+ * {@link QuestionsExporter} is injected via constructor to stream the bulk export.
+ * {@link QuestionsBulkWriter} is injected via constructor to persist bulk requests chunk by chunk.
+ * {@link QuestionsSearchIndex} is injected via constructor to index new posts and answer searches.
+ * {@link QuestionsWriteBehind} and {@link QuestionsIdAllocator} are injected via constructor to queue new posts
+ * when the write-behind mode is enabled.
+ * {@link QuestionsETags} is injected via constructor to tag the question list and details and answer conditional requests.
+ * Input validation is shared with the reactive variant of the api through {@link QuestionsRequestValidator}.
  *
  * @author Sathish Pendem
  */
@@ -26,25 +59,61 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class QuestionControllerDelegate {
 
+    static final int DEFAULT_PAGE_SIZE = QuestionsRequestValidator.DEFAULT_PAGE_SIZE;
+    public static final String QUESTION_DETAILS_CACHE = "questionDetails";
+    static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    static final int MAX_BULK_SIZE = 10000;
+    static final int BULK_CHUNK_SIZE = 500;
+    static final int MAX_BATCH_READ_SIZE = QuestionsRequestValidator.MAX_PAGE_SIZE;
+
     private final QuestionsRepository repository;
+    private final RepliesRepository repliesRepository;
+    private final QuestionsReadRepository readRepository;
+    private final QuestionsExporter exporter;
+    private final QuestionsBulkWriter bulkWriter;
+    private final QuestionDetailsCache detailsCache;
+    private final QuestionsSearchIndex searchIndex;
+    private final QuestionsWriteBehind writeBehind;
+    private final QuestionsIdAllocator idAllocator;
+    private final QuestionsETags eTags;
+    private final QuestionsLoadCoalescer coalescer;
+    private final RepliesStreamHub repliesStream;
 
     /**
      * addQuestion endpoint implementation. Input question details are used to create the new question in DB.
+     * In write-behind mode the question is queued with a reserved id and 202 is returned before it is saved.
      *
      * @param body question request body of type {@link PostQuestionReplyBody}.
      * @return questionDetails of type {@link QuestionDetails} of the new question Added.
-     * @throws QuestionsApiException runtime exception if an error occurs during JPA operation.
+     * @throws QuestionsApiException runtime exception if an error occurs during JPA operation or the write-behind queue is full.
      */
     public ResponseEntity<QuestionDetails> addQuestion(PostQuestionReplyBody body) {
         validateInputRequest(body);
+        if (writeBehind.isEnabled()) {
+            Long id = idAllocator.allocate();
+            writeBehind.enqueue(QuestionsEntity.builder()
+                    .reservedId(id)
+                    .author(body.getAuthor())
+                    .message(body.getMessage())
+                    .build());
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(QuestionDetails.builder()
+                    .author(body.getAuthor())
+                    .id(id)
+                    .message(body.getMessage())
+                    .replies(0L)
+                    .build());
+        }
         try {
+            QuestionsEntity question = repository.save(   //Save Question Entity to DB
+                    QuestionsEntity.builder()  //Build Question Entity and pass it to save method.
+                            .author(body.getAuthor())
+                            .message(body.getMessage())
+                            .build()
+            );
+            searchIndex.index(question);
+            eTags.listChanged();
             return ResponseEntity.ok(
-                    Optional.of(repository.save(   //Save Question Entity to DB
-                            QuestionsEntity.builder()  //Build Question Entity and pass it to save method.
-                                    .author(body.getAuthor())
-                                    .message(body.getMessage())
-                                    .build()
-                    ))
+                    Optional.of(question)
                             .map(entity -> QuestionDetails.builder()  // Use question Entity to create Response: Question Details.
                                     .author(entity.getAuthor())
                                     .id(entity.getId())
@@ -60,99 +129,259 @@ public class QuestionControllerDelegate {
 
     /**
      * createReply endpoint implementation. Input reply details are used to create the new reply in DB for a given question.
+     * The question is never loaded: incrementing its reply count doubles as the existence check, and the foreign key
+     * on questionId guards the insert. Both statements run in one transaction.
+     * In write-behind mode the reply is queued with a reserved id and 202 is returned before it is saved,
+     * replies to questions which are still queued are accepted and saved after their question.
      *
      * @param requestBody question request body of type {@link PostQuestionReplyBody}.
      * @param questionId  input questionId for the reply is saved.
      * @return postReplyResponse of type {@link PostReplyResponse} of the new reply Added.
      * @throws QuestionsApiException runtime exception if an error occurs during JPA operation or in input questionId not
-     *                               present in the DB.
+     *                               present in the DB or the write-behind queue is full.
      */
+    @Transactional
     public ResponseEntity<PostReplyResponse> createReply(Long questionId, PostQuestionReplyBody requestBody) {
         validateInputRequest(requestBody);
         try {
-            repository.findById(questionId)
-                    .orElseThrow(
-                            () -> new QuestionsApiException("Question Not Found.", null, "ERROR002", HttpStatus.NOT_FOUND)
-                    );
+            if (writeBehind.isEnabled()) {
+                if (!writeBehind.isPending(questionId) && !repository.existsById(questionId)) {  // Queued questions are saved first.
+                    throw new QuestionsApiException("Question Not Found.", null, "ERROR002", HttpStatus.NOT_FOUND);
+                }
+                Long id = idAllocator.allocate();
+                writeBehind.enqueue(RepliesEntity.builder()
+                        .reservedId(id)
+                        .author(requestBody.getAuthor())
+                        .message(requestBody.getMessage())
+                        .questionId(questionId)
+                        .build());
+                return ResponseEntity.status(HttpStatus.ACCEPTED).body(PostReplyResponse.builder()
+                        .author(requestBody.getAuthor())
+                        .id(id)
+                        .message(requestBody.getMessage())
+                        .questionId(questionId)
+                        .build());
+            }
+            if (repository.incrementReplyCount(questionId, 1L) == 0) {  // No row updated: question does not exist.
+                throw new QuestionsApiException("Question Not Found.", null, "ERROR002", HttpStatus.NOT_FOUND);
+            }
+            RepliesEntity reply = repliesRepository.saveAndFlush(
+                    RepliesEntity.builder()
+                            .author(requestBody.getAuthor())
+                            .message(requestBody.getMessage())
+                            .questionId(questionId)
+                            .build()
+            );
+            searchIndex.index(reply);  // Indexed once the transaction has committed.
+            repliesStream.publish(reply);
+            detailsCache.evict(questionId);
+            eTags.listChanged();
             return ResponseEntity.ok(
-                    Optional.of(repository.save(
-                            QuestionsEntity.builder()
-                                    .author(requestBody.getAuthor())
-                                    .message(requestBody.getMessage())
-                                    .parentQuestionId(questionId)
-                                    .build()
-                    ))
+                    Optional.of(reply)
                             .map(entity -> PostReplyResponse.builder()
                                     .author(entity.getAuthor())
                                     .id(entity.getId())
                                     .message(entity.getMessage())
-                                    .questionId(entity.getParentQuestionId())
+                                    .questionId(entity.getQuestionId())
                                     .build())
                             .get()
             );
         } catch (QuestionsApiException apiEx) {
             throw apiEx;
+        } catch (DataIntegrityViolationException ex) {
+            throw new QuestionsApiException("Question Not Found.", ex, "ERROR002", HttpStatus.NOT_FOUND);
         } catch (Exception ex) {
             throw new QuestionsApiException("JPA exception while saving reply", ex, "ERROR001", HttpStatus.NOT_FOUND);
         }
     }
 
     /**
-     * getListOfQuestions endpoint implementation. Reads all questions in the Db and return to the requester.
+     * addQuestions endpoint implementation. Every input question is validated like in addQuestion and
+     * valid questions are saved in chunks, each chunk in one transaction with batched inserts.
+     * An invalid question or a failed chunk does not fail the other items of the request.
      *
-     * @return questionDetails of type {@link List<QuestionDetails>} of the new question Added.
-     * @throws QuestionsApiException runtime exception if an error occurs during JPA operation.
+     * @param bodies list of question request bodies of type {@link PostQuestionReplyBody}.
+     * @return bulkPostResults of type {@link BulkPostResult}, one per input question in request order.
+     * @throws QuestionsApiException runtime exception if the number of questions is invalid.
+     */
+    public ResponseEntity<List<BulkPostResult>> addQuestions(List<PostQuestionReplyBody> bodies) {
+        validateBulkSize(bodies);
+        BulkPostResult[] results = new BulkPostResult[bodies.size()];
+        List<Integer> valid = new ArrayList<>();
+        for (int index = 0; index < bodies.size(); index++) {
+            try {
+                validateInputRequest(bodies.get(index));
+                valid.add(index);
+            } catch (QuestionsApiException apiEx) {
+                results[index] = failedResult(index, apiEx);
+            }
+        }
+        for (List<Integer> chunk : chunks(valid)) {
+            try {
+                List<QuestionsEntity> saved = bulkWriter.saveQuestions(chunk.stream()
+                        .map(index -> QuestionsEntity.builder()
+                                .author(bodies.get(index).getAuthor())
+                                .message(bodies.get(index).getMessage())
+                                .build())
+                        .collect(Collectors.toList()));
+                saved.forEach(searchIndex::index);
+                for (int i = 0; i < chunk.size(); i++) {
+                    results[chunk.get(i)] = createdResult(chunk.get(i), saved.get(i));
+                }
+            } catch (Exception ex) {
+                QuestionsApiException apiEx = new QuestionsApiException("Exception occurred while saving Question to Database.", ex, "ERROR003", HttpStatus.UNPROCESSABLE_ENTITY);
+                chunk.forEach(index -> results[index] = failedResult(index, apiEx));
+            }
+        }
+        return ResponseEntity.ok(Arrays.asList(results));
+    }
+
+    /**
+     * createReplies endpoint implementation. Every input reply is validated like in createReply, the questions
+     * replied to are looked up with one query per chunk and valid replies are saved in chunks, each chunk in one
+     * transaction with batched inserts. An invalid reply or a failed chunk does not fail the other items of the request.
+     *
+     * @param bodies list of question id and reply pairs of type {@link BulkReplyBody}.
+     * @return bulkPostResults of type {@link BulkPostResult}, one per input reply in request order.
+     * @throws QuestionsApiException runtime exception if the number of replies is invalid.
      */
-    public ResponseEntity<List<QuestionDetails>> getListOfQuestions() {
+    public ResponseEntity<List<BulkPostResult>> createReplies(List<BulkReplyBody> bodies) {
+        validateBulkSize(bodies);
+        BulkPostResult[] results = new BulkPostResult[bodies.size()];
+        List<Integer> valid = new ArrayList<>();
+        for (int index = 0; index < bodies.size(); index++) {
+            try {
+                if (bodies.get(index).getQuestionId() == null) {
+                    throw new QuestionsApiException("Question Not Found.", null, "ERROR002", HttpStatus.NOT_FOUND);
+                }
+                validateInputRequest(Optional.ofNullable(bodies.get(index).getReply())
+                        .orElse(PostQuestionReplyBody.builder().build()));
+                valid.add(index);
+            } catch (QuestionsApiException apiEx) {
+                results[index] = failedResult(index, apiEx);
+            }
+        }
+        for (List<Integer> chunk : chunks(valid)) {
+            try {
+                Set<Long> existing = new HashSet<>(repository.findExistingIds(chunk.stream()
+                        .map(index -> bodies.get(index).getQuestionId())
+                        .collect(Collectors.toSet())));
+                QuestionsApiException notFound = new QuestionsApiException("Question Not Found.", null, "ERROR002", HttpStatus.NOT_FOUND);
+                chunk.stream()
+                        .filter(index -> !existing.contains(bodies.get(index).getQuestionId()))
+                        .forEach(index -> results[index] = failedResult(index, notFound));
+                List<Integer> found = chunk.stream()
+                        .filter(index -> existing.contains(bodies.get(index).getQuestionId()))
+                        .collect(Collectors.toList());
+                List<RepliesEntity> saved = found.isEmpty() ? Collections.emptyList() : bulkWriter.saveReplies(found.stream()
+                        .map(index -> RepliesEntity.builder()
+                                .author(bodies.get(index).getReply().getAuthor())
+                                .message(bodies.get(index).getReply().getMessage())
+                                .questionId(bodies.get(index).getQuestionId())
+                                .build())
+                        .collect(Collectors.toList()));
+                saved.forEach(searchIndex::index);
+                saved.forEach(repliesStream::publish);
+                for (int i = 0; i < found.size(); i++) {
+                    results[found.get(i)] = createdResult(found.get(i), saved.get(i));
+                }
+                existing.forEach(detailsCache::evict);
+            } catch (Exception ex) {
+                QuestionsApiException apiEx = new QuestionsApiException("JPA exception while saving reply", ex, "ERROR001", HttpStatus.NOT_FOUND);
+                chunk.stream()
+                        .filter(index -> results[index] == null)
+                        .forEach(index -> results[index] = failedResult(index, apiEx));
+            }
+        }
+        return ResponseEntity.ok(Arrays.asList(results));
+    }
 
+    /**
+     * getListOfQuestions endpoint implementation. Reads a page of questions in the Db and return to the requester.
+     * Reply counts are read from the replyCount column maintained by createReply, replies are never loaded.
+     * Rows are mapped straight into {@link QuestionDetails} by {@link QuestionsReadRepository}.
+     * The response is tagged with the ETag of the list version read before the questions.
+     *
+     * @param after last question id of the previous page, null to read the first page.
+     * @param limit maximum number of questions to return, null to use the default page size.
+     * @return questionsListResponse of type {@link QuestionsListResponse} with the questions and the next page cursor.
+     * @throws QuestionsApiException runtime exception if an error occurs during JPA operation or the limit is invalid.
+     */
+    public ResponseEntity<QuestionsListResponse> getListOfQuestions(Long after, Integer limit) {
+        int pageSize = validatePageSize(limit, 1);
+        String eTag = eTags.listETag();
         try {
-            return ResponseEntity.ok(repository.findByParentQuestionIdIsNull()
-                    .stream()
-                    .map(entity -> QuestionDetails.builder()
-                            .message(entity.getMessage())
-                            .id(entity.getId())
-                            .author(entity.getAuthor())
-                            .replies((long) entity.getReplies().size())
-                            .build()
-                    )
-                    .collect(Collectors.toList()));
+            // Read one extra row to find out whether a next page exists.
+            List<QuestionDetails> questions = readRepository.findQuestions(
+                    Optional.ofNullable(after).orElse(0L), PageRequest.of(0, pageSize + 1));
+            boolean hasNextPage = questions.size() > pageSize;
+            List<QuestionDetails> page = hasNextPage ? questions.subList(0, pageSize) : questions;
+            return ResponseEntity.ok()
+                    .eTag(eTag)
+                    .cacheControl(eTags.cacheControl())
+                    .body(QuestionsListResponse.builder()
+                            .questions(page)
+                            .nextCursor(hasNextPage ? page.get(pageSize - 1).getId() : null)
+                            .build());
         } catch (Exception ex) {
             throw new QuestionsApiException("Exception occurred while reading Questions from Database.", ex, "ERROR0034", HttpStatus.UNPROCESSABLE_ENTITY);
         }
     }
 
     /**
-     * createReply endpoint implementation. Input reply details are used to create the new reply in DB for a given question.
+     * getQuestionDetails endpoint implementation. Reads the question and a page of its replies with a single
+     * bounded query joining both, no entity is loaded.
+     * The default first page, which is what clients poll, is served from the {@link #QUESTION_DETAILS_CACHE} cache
+     * ({@link QuestionDetailsCache}) and evicted whenever a reply is added to the question. The response is tagged with the ETag of the question version.
+     * Concurrent cache misses for the same page share one database read through {@link QuestionsLoadCoalescer}.
      *
      * @param questionId of the question for which the details are requested.
+     * @param after      last reply id of the previous page, null to read the first page.
+     * @param limit      maximum number of replies to return, 0 to read only the question.
      * @return questionsResponse of type {@link QuestionsResponse} of the question requested.
      * @throws QuestionsApiException runtime exception if an error occurs during JPA operation or in input questionId not
-     *                               present in the DB.
+     *                               present in the DB or the wait for a concurrent read of the same page times out.
      */
-    public ResponseEntity<QuestionsResponse> getQuestionDetails(@PathVariable("questionId") Long questionId) {
+    public ResponseEntity<QuestionsResponse> getQuestionDetails(Long questionId, Long after, Integer limit) {
+        int pageSize = validatePageSize(limit, 0);
+        if (after != null || limit != null) {
+            return coalescer.load(Arrays.asList(questionId, after, pageSize),
+                    () -> readQuestionDetails(questionId, after, pageSize));
+        }
+        ResponseEntity<QuestionsResponse> cached = detailsCache.get(questionId);
+        if (cached != null) {
+            return cached;
+        }
+        // Only the load shared by the coalesced requests caches its result, requests joining it later do not.
+        return coalescer.load(Arrays.asList(questionId, after, pageSize),
+                () -> detailsCache.load(questionId, () -> readQuestionDetails(questionId, after, pageSize)));
+    }
+
+    private ResponseEntity<QuestionsResponse> readQuestionDetails(Long questionId, Long after, int pageSize) {
         try {
-            return ResponseEntity.ok(
-                    repository.findById(questionId)
-                            .map(question -> QuestionsResponse.builder()
-                                    .author(question.getAuthor())
-                                    .id(question.getId())
-                                    .message(question.getMessage())
-                                    .replies(question.getReplies()
-                                            .stream()
-                                            .map(entity ->
-                                                    ReplyDetails.builder()
-                                                            .author(entity.getAuthor())
-                                                            .message(entity.getMessage())
-                                                            .id(entity.getId())
-                                                            .build()
-                                            )
-                                            .collect(Collectors.toList())
-                                    )
-                                    .build())
-                            .orElseThrow(
-                                    () -> new QuestionsApiException("Question Not Found.", null, "ERROR006", HttpStatus.NOT_FOUND)
-                            )
-            );
+            // Read one extra row to find out whether a next page exists, or only the question row when pageSize is 0.
+            List<QuestionRepliesRow> rows = readRepository.findQuestionWithReplies(
+                    questionId, Optional.ofNullable(after).orElse(0L), PageRequest.of(0, pageSize + 1));
+            if (rows.isEmpty()) {
+                throw new QuestionsApiException("Question Not Found.", null, "ERROR006", HttpStatus.NOT_FOUND);
+            }
+            QuestionRepliesRow question = rows.get(0);
+            RepliesListResponse replies = pageSize == 0
+                    ? RepliesListResponse.builder().replies(Collections.emptyList()).build()
+                    : page(rows.stream()
+                            .filter(row -> row.getReplyId() != null)
+                            .map(row -> new ReplyDetails(row.getReplyId(), row.getReplyAuthor(), row.getReplyMessage()))
+                            .collect(Collectors.toList()), pageSize);
+            return ResponseEntity.ok()
+                    .eTag(eTags.questionETag(question.getId(), question.getVersion()))
+                    .cacheControl(eTags.cacheControl())
+                    .body(QuestionsResponse.builder()
+                            .author(question.getAuthor())
+                            .id(question.getId())
+                            .message(question.getMessage())
+                            .replies(replies.getReplies())
+                            .nextCursor(replies.getNextCursor())
+                            .build());
         } catch (QuestionsApiException apiEx) {
             throw apiEx;
         } catch (Exception ex) {
@@ -160,12 +389,240 @@ public class QuestionControllerDelegate {
         }
     }
 
-    private void validateInputRequest(PostQuestionReplyBody request) {
-        if (StringUtils.isEmpty(request.getAuthor())) {
-            throw new QuestionsApiException("Invalid input. Author cannot be empty or null.", null, "ERROR008", HttpStatus.UNPROCESSABLE_ENTITY);
+    /**
+     * getQuestions endpoint implementation. Reads the questions with the given ids and their reply counts with a
+     * single query, whatever the number of ids. Every id gets a result in request order, ids which are not found
+     * are reported in their result instead of failing the request.
+     *
+     * @param ids ids of the questions to read, duplicates are answered once per occurrence.
+     * @return questionResults of type {@link QuestionResult}, one per input id in request order.
+     * @throws QuestionsApiException runtime exception if the number of ids is invalid or an error occurs during JPA operation.
+     */
+    public ResponseEntity<List<QuestionResult>> getQuestions(List<Long> ids) {
+        if (ids == null || ids.isEmpty() || ids.size() > MAX_BATCH_READ_SIZE) {
+            throw new QuestionsApiException("Invalid input. Number of ids must be between 1 and " + MAX_BATCH_READ_SIZE + ".", null, "ERROR017", HttpStatus.UNPROCESSABLE_ENTITY);
+        }
+        try {
+            Set<Long> distinct = ids.stream()
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet());
+            Map<Long, QuestionDetails> questions = distinct.isEmpty() ? Collections.emptyMap()
+                    : readRepository.findQuestionsByIds(distinct).stream()
+                    .collect(Collectors.toMap(QuestionDetails::getId, Function.identity()));
+            QuestionsApiException notFound = new QuestionsApiException("Question Not Found.", null, "ERROR006", HttpStatus.NOT_FOUND);
+            List<QuestionResult> results = new ArrayList<>(ids.size());
+            for (int index = 0; index < ids.size(); index++) {
+                QuestionDetails question = questions.get(ids.get(index));
+                results.add(question == null
+                        ? QuestionResult.builder()
+                                .index(index)
+                                .id(ids.get(index))
+                                .status(notFound.getStatus().value())
+                                .errorCode(notFound.getErrorCode())
+                                .message(notFound.getMessage())
+                                .build()
+                        : QuestionResult.builder()
+                                .index(index)
+                                .id(question.getId())
+                                .status(HttpStatus.OK.value())
+                                .question(question)
+                                .build());
+            }
+            return ResponseEntity.ok(results);
+        } catch (Exception ex) {
+            throw new QuestionsApiException("Exception occurred while reading Questions from Database.", ex, "ERROR018", HttpStatus.UNPROCESSABLE_ENTITY);
+        }
+    }
+
+    /**
+     * Conditional getListOfQuestions: answers 304 without reading the DB when the client already has the current list.
+     *
+     * @param ifNoneMatch value of the If-None-Match request header, null if not sent.
+     * @return 304 response, empty if the page of questions has to be read.
+     */
+    public Optional<ResponseEntity<QuestionsListResponse>> listOfQuestionsNotModified(String ifNoneMatch) {
+        return notModified(ifNoneMatch, eTags.listETag());
+    }
+
+    /**
+     * Conditional getQuestionDetails: answers 304 when the client already has the current version of the question.
+     * The version is taken from the cached details of the question, or else read alone from the question row.
+     *
+     * @param questionId  of the question for which the details are requested.
+     * @param ifNoneMatch value of the If-None-Match request header, null if not sent.
+     * @return 304 response, empty if the details have to be read.
+     * @throws QuestionsApiException runtime exception if an error occurs during JPA operation.
+     */
+    public Optional<ResponseEntity<QuestionsResponse>> questionDetailsNotModified(Long questionId, String ifNoneMatch) {
+        if (!StringUtils.hasText(ifNoneMatch)) {
+            return Optional.empty();
+        }
+        try {
+            Optional<String> eTag = Optional.ofNullable(detailsCache.get(questionId))
+                    .map(cached -> cached.getHeaders().getETag())
+                    .or(() -> readRepository.findVersion(questionId)
+                            .map(version -> eTags.questionETag(questionId, version)));
+            return eTag.flatMap(current -> notModified(ifNoneMatch, current));
+        } catch (Exception ex) {
+            throw new QuestionsApiException("Exception occurred while reading question details.", ex, "ERROR007", HttpStatus.NOT_FOUND);
+        }
+    }
+
+    /**
+     * getReplies endpoint implementation. Reads a page of replies of the input question ordered by reply id.
+     *
+     * @param questionId of the question for which the replies are requested.
+     * @param after      last reply id of the previous page, null to read the first page.
+     * @param limit      maximum number of replies to return, null to use the default page size.
+     * @return repliesListResponse of type {@link RepliesListResponse} with the replies and the next page cursor.
+     * @throws QuestionsApiException runtime exception if an error occurs during JPA operation or in input questionId not
+     *                               present in the DB.
+     */
+    public ResponseEntity<RepliesListResponse> getReplies(Long questionId, Long after, Integer limit) {
+        int pageSize = validatePageSize(limit, 1);
+        try {
+            RepliesListResponse replies = readReplies(questionId, after, pageSize);
+            // Existence is only checked for empty pages, a non empty page proves the question exists.
+            if (replies.getReplies().isEmpty() && !repository.existsById(questionId)) {
+                throw new QuestionsApiException("Question Not Found.", null, "ERROR006", HttpStatus.NOT_FOUND);
+            }
+            return ResponseEntity.ok(replies);
+        } catch (QuestionsApiException apiEx) {
+            throw apiEx;
+        } catch (Exception ex) {
+            throw new QuestionsApiException("Exception occurred while reading replies.", ex, "ERROR011", HttpStatus.NOT_FOUND);
+        }
+    }
+
+    /**
+     * streamReplies endpoint implementation. Opens a Server-Sent Events stream of the replies to the input question,
+     * every reply is pushed by the {@link RepliesStreamHub} once its transaction has committed.
+     *
+     * @param questionId of the question for which the replies are streamed.
+     * @return sseEmitter sending one event per new reply of type {@link ReplyDetails}.
+     * @throws QuestionsApiException runtime exception if an error occurs during JPA operation or in input questionId not
+     *                               present in the DB.
+     */
+    public SseEmitter streamReplies(Long questionId) {
+        try {
+            if (!repository.existsById(questionId)) {
+                throw new QuestionsApiException("Question Not Found.", null, "ERROR006", HttpStatus.NOT_FOUND);
+            }
+        } catch (QuestionsApiException apiEx) {
+            throw apiEx;
+        } catch (Exception ex) {
+            throw new QuestionsApiException("Exception occurred while reading replies.", ex, "ERROR011", HttpStatus.NOT_FOUND);
         }
-        if (StringUtils.isEmpty(request.getMessage())) {
-            throw new QuestionsApiException("Invalid input. Message cannot be empty or null.", null, "ERROR009", HttpStatus.UNPROCESSABLE_ENTITY);
+        return repliesStream.subscribe(questionId);
+    }
+
+    /**
+     * exportPosts endpoint implementation. Streams every question and reply in the DB as newline delimited JSON.
+     * The response is written asynchronously while the posts are read, nothing is collected in memory.
+     *
+     * @return streamingResponseBody writing one {@link PostDetails} per line.
+     */
+    public ResponseEntity<StreamingResponseBody> exportPosts() {
+        return ResponseEntity.ok()
+                .contentType(APPLICATION_NDJSON)
+                .body(exporter::export);
+    }
+
+    /**
+     * searchPosts endpoint implementation. Finds the questions and replies whose author or message match the query
+     * in the {@link QuestionsSearchIndex}, only the matching posts are read from the DB.
+     *
+     * @param query text to search for, posts matching any of its words are returned.
+     * @param limit maximum number of posts to return, null to use the default page size.
+     * @return searchResponse of type {@link SearchResponse} with the matching posts, best match first.
+     * @throws QuestionsApiException runtime exception if the query or limit is invalid or an error occurs during JPA operation.
+     */
+    public ResponseEntity<SearchResponse> searchPosts(String query, Integer limit) {
+        int pageSize = validatePageSize(limit, 1);
+        if (!StringUtils.hasText(query)) {
+            throw new QuestionsApiException("Invalid input. Query cannot be empty or null.", null, "ERROR014", HttpStatus.UNPROCESSABLE_ENTITY);
+        }
+        try {
+            List<QuestionsSearchIndex.Match> matches = searchIndex.search(query, pageSize);
+            List<Long> ids = matches.stream()
+                    .map(QuestionsSearchIndex.Match::getId)
+                    .collect(Collectors.toList());
+            Map<Long, PostEntity> posts = matches.isEmpty() ? Collections.emptyMap() : Stream.concat(
+                    repository.findAllById(ids).stream(),
+                    repliesRepository.findAllById(ids).stream())
+                    .collect(Collectors.toMap(PostEntity::getId, Function.identity()));
+            return ResponseEntity.ok(SearchResponse.builder()
+                    .query(query)
+                    .hits(matches.stream()
+                            .filter(match -> posts.containsKey(match.getId()))
+                            .map(match -> SearchHit.builder()
+                                    .id(match.getId())
+                                    .questionId(posts.get(match.getId()).getQuestionId())
+                                    .author(posts.get(match.getId()).getAuthor())
+                                    .message(posts.get(match.getId()).getMessage())
+                                    .score(match.getScore())
+                                    .build())
+                            .collect(Collectors.toList()))
+                    .build());
+        } catch (Exception ex) {
+            throw new QuestionsApiException("Exception occurred while searching posts.", ex, "ERROR015", HttpStatus.UNPROCESSABLE_ENTITY);
+        }
+    }
+
+    private RepliesListResponse readReplies(Long questionId, Long after, int pageSize) {
+        // Read one extra row to find out whether a next page exists.
+        return page(readRepository.findReplies(
+                questionId, Optional.ofNullable(after).orElse(0L), PageRequest.of(0, pageSize + 1)), pageSize);
+    }
+
+    private RepliesListResponse page(List<ReplyDetails> replies, int pageSize) {
+        boolean hasNextPage = replies.size() > pageSize;
+        List<ReplyDetails> page = hasNextPage ? replies.subList(0, pageSize) : replies;
+        return RepliesListResponse.builder()
+                .replies(page)
+                .nextCursor(hasNextPage ? page.get(pageSize - 1).getId() : null)
+                .build();
+    }
+
+    private <T> Optional<ResponseEntity<T>> notModified(String ifNoneMatch, String eTag) {
+        if (!eTags.matches(ifNoneMatch, eTag)) {
+            return Optional.empty();
+        }
+        return Optional.of(ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(eTag)
+                .cacheControl(eTags.cacheControl())
+                .build());
+    }
+
+    private List<List<Integer>> chunks(List<Integer> indexes) {
+        List<List<Integer>> chunks = new ArrayList<>();
+        for (int from = 0; from < indexes.size(); from += BULK_CHUNK_SIZE) {
+            chunks.add(indexes.subList(from, Math.min(from + BULK_CHUNK_SIZE, indexes.size())));
+        }
+        return chunks;
+    }
+
+    private BulkPostResult createdResult(int index, PostEntity entity) {
+        return BulkPostResult.builder()
+                .index(index)
+                .status(HttpStatus.OK.value())
+                .id(entity.getId())
+                .questionId(entity.getQuestionId())
+                .build();
+    }
+
+    private BulkPostResult failedResult(int index, QuestionsApiException apiEx) {
+        return BulkPostResult.builder()
+                .index(index)
+                .status(apiEx.getStatus().value())
+                .errorCode(apiEx.getErrorCode())
+                .message(apiEx.getMessage())
+                .build();
+    }
+
+    private void validateBulkSize(List<?> bodies) {
+        if (bodies == null || bodies.isEmpty() || bodies.size() > MAX_BULK_SIZE) {
+            throw new QuestionsApiException("Invalid input. Number of posts must be between 1 and " + MAX_BULK_SIZE + ".", null, "ERROR012", HttpStatus.UNPROCESSABLE_ENTITY);
         }
     }
 }
@@ -0,0 +1,92 @@
+package com.example.demo.forum.delegates;
+
+import com.example.demo.forum.model.QuestionsResponse;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * The {@value QuestionControllerDelegate#QUESTION_DETAILS_CACHE} cache of the default first page of question details.
+ * A question is evicted once the transaction adding a reply to it has committed, and a load is only cached when no
+ * eviction of its question happened while it was reading. A load which read the question before the reply committed
+ * can otherwise finish after the eviction and put the old page back until it expires.
+ * Evictions are counted per stripe of question ids, so memory stays bounded whatever the number of questions.
+ *
+ * @author Sathish Pendem
+ */
+@Component
+public class QuestionDetailsCache {
+
+    private static final int STRIPES = 1024;
+
+    private final Cache cache;
+    private final AtomicLongArray evictions = new AtomicLongArray(STRIPES);
+
+    public QuestionDetailsCache(CacheManager cacheManager) {
+        this.cache = cacheManager.getCache(QuestionControllerDelegate.QUESTION_DETAILS_CACHE);
+    }
+
+    /**
+     * @param questionId id of the question.
+     * @return cached details of the question, null if not cached.
+     */
+    @SuppressWarnings("unchecked")
+    public ResponseEntity<QuestionsResponse> get(Long questionId) {
+        Cache.ValueWrapper cached = cache.get(questionId);
+        return cached == null ? null : (ResponseEntity<QuestionsResponse>) cached.get();
+    }
+
+    /**
+     * Loads the details of the question and caches them unless the question was evicted in the meantime.
+     *
+     * @param questionId id of the question.
+     * @param loader     reads the details of the question from the DB.
+     * @return details of the question as read by the loader.
+     */
+    public ResponseEntity<QuestionsResponse> load(Long questionId, Supplier<ResponseEntity<QuestionsResponse>> loader) {
+        int stripe = stripe(questionId);
+        long before = evictions.get(stripe);
+        ResponseEntity<QuestionsResponse> details = loader.get();
+        if (evictions.get(stripe) == before) {
+            cache.put(questionId, details);
+            if (evictions.get(stripe) != before) {
+                cache.evict(questionId);  // Evicted between the check and the put.
+            }
+        }
+        return details;
+    }
+
+    /**
+     * Evicts the question once the current transaction has committed, or immediately outside of a transaction.
+     * Evicting it earlier would let a concurrent request cache the question read before the commit.
+     *
+     * @param questionId id of the question.
+     */
+    public void evict(Long questionId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(questionId);
+                }
+            });
+        } else {
+            evictNow(questionId);
+        }
+    }
+
+    private void evictNow(Long questionId) {
+        evictions.incrementAndGet(stripe(questionId));  // Before the eviction, so a load finishing after it is not cached.
+        cache.evict(questionId);
+    }
+
+    private static int stripe(Long questionId) {
+        return Math.floorMod(questionId.hashCode(), STRIPES);
+    }
+}
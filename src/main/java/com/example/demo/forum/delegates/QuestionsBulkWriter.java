@@ -0,0 +1,65 @@
+package com.example.demo.forum.delegates;
+
+import com.example.demo.forum.persistence.QuestionsEntity;
+import com.example.demo.forum.persistence.QuestionsRepository;
+import com.example.demo.forum.persistence.RepliesEntity;
+import com.example.demo.forum.persistence.RepliesRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.EntityManager;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Persists chunks of questions and replies for the bulk endpoints of {@link QuestionControllerDelegate}.
+ * Every chunk is saved in its own transaction with JDBC batching, and the persistence context is
+ * cleared afterwards so memory used by a bulk request does not grow with the number of chunks.
+ * The version of the question list is incremented once a chunk has committed.
+ *
+ * @author Sathish Pendem
+ */
+@Component
+@RequiredArgsConstructor
+public class QuestionsBulkWriter {
+
+    private final QuestionsRepository repository;
+    private final RepliesRepository repliesRepository;
+    private final EntityManager entityManager;
+    private final QuestionsETags eTags;
+
+    /**
+     * Saves a chunk of questions in one transaction.
+     *
+     * @param questions question entities to insert.
+     * @return saved question entities with their ids assigned.
+     */
+    @Transactional
+    public List<QuestionsEntity> saveQuestions(List<QuestionsEntity> questions) {
+        List<QuestionsEntity> saved = repository.saveAll(questions);
+        eTags.listChanged();
+        entityManager.flush();
+        entityManager.clear();
+        return saved;
+    }
+
+    /**
+     * Saves a chunk of replies in one transaction and increments the reply count of every question replied to
+     * with one update per question.
+     *
+     * @param replies reply entities to insert, their questions are expected to exist.
+     * @return saved reply entities with their ids assigned.
+     */
+    @Transactional
+    public List<RepliesEntity> saveReplies(List<RepliesEntity> replies) {
+        List<RepliesEntity> saved = repliesRepository.saveAll(replies);
+        replies.stream()
+                .collect(Collectors.groupingBy(RepliesEntity::getQuestionId, Collectors.counting()))
+                .forEach(repository::incrementReplyCount);
+        eTags.listChanged();
+        entityManager.flush();
+        entityManager.clear();
+        return saved;
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.demo.forum.delegates;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.CacheControl;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Strong ETags and Cache-Control of getListOfQuestions and getQuestionDetails.
+ * The ETag of a question is derived from its id and version, which createReply increments.
+ * The ETag of the question list is derived from a list version kept in memory, incremented once every write changing
+ * a page of questions has committed.
+ * Both include the start time of the application, so an in-memory database recreated on restart never reuses an ETag
+ * of the previous run for different content.
+ *
+ * @author Sathish Pendem
+ */
+@Component
+@EnableConfigurationProperties(HttpCacheProperties.class)
+public class QuestionsETags {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+    private final AtomicLong listVersion = new AtomicLong();
+    private final CacheControl cacheControl;
+
+    public QuestionsETags(HttpCacheProperties properties) {
+        this.cacheControl = CacheControl.maxAge(properties.getMaxAge())
+                .sMaxAge(properties.getSharedMaxAge())
+                .cachePublic();
+    }
+
+    /**
+     * @return ETag of the current version of the question list.
+     */
+    public String listETag() {
+        return "\"" + epoch + "." + listVersion.get() + "\"";
+    }
+
+    /**
+     * @param questionId id of the question.
+     * @param version    version of the question.
+     * @return ETag of the given version of the question.
+     */
+    public String questionETag(Long questionId, Long version) {
+        return "\"" + epoch + "." + questionId + "." + version + "\"";
+    }
+
+    /**
+     * Increments the list version once the current transaction has committed, or immediately outside of a transaction.
+     * Incrementing it earlier would let a concurrent request tag the list read before the commit with the new version.
+     */
+    public void listChanged() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    listVersion.incrementAndGet();
+                }
+            });
+        } else {
+            listVersion.incrementAndGet();
+        }
+    }
+
+    /**
+     * Weak comparison of an If-None-Match header with an ETag, as required for If-None-Match.
+     *
+     * @param ifNoneMatch value of the If-None-Match request header, may be null.
+     * @param eTag        current ETag of the resource.
+     * @return true if the header lists the ETag or is {@code *}.
+     */
+    public boolean matches(String ifNoneMatch, String eTag) {
+        if (!StringUtils.hasText(ifNoneMatch)) {
+            return false;
+        }
+        for (String candidate : StringUtils.commaDelimitedListToStringArray(ifNoneMatch)) {
+            String trimmed = candidate.trim();
+            if ("*".equals(trimmed) || withoutWeakPrefix(trimmed).equals(withoutWeakPrefix(eTag))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public CacheControl cacheControl() {
+        return cacheControl;
+    }
+
+    private static String withoutWeakPrefix(String eTag) {
+        return eTag.startsWith("W/") ? eTag.substring(2) : eTag;
+    }
+}
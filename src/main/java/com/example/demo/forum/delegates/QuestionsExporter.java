@@ -0,0 +1,85 @@
+package com.example.demo.forum.delegates;
+
+import com.example.demo.forum.model.PostDetails;
+import com.example.demo.forum.persistence.PostEntity;
+import com.example.demo.forum.persistence.QuestionsRepository;
+import com.example.demo.forum.persistence.RepliesRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes all questions and replies in the DB as newline delimited JSON.
+ * Questions and replies are read through one database cursor each, merged by id and detached as soon as they are
+ * written, so memory used by an export does not depend on the number of posts.
+ *
+ * @author Sathish Pendem
+ */
+@Component
+@RequiredArgsConstructor
+public class QuestionsExporter {
+
+    private static final byte NEW_LINE = '\n';
+
+    private final QuestionsRepository repository;
+    private final RepliesRepository repliesRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Writes every post in the DB ordered by id to the output stream, one {@link PostDetails} JSON document per line.
+     *
+     * @param outputStream response stream to write the posts to.
+     * @throws UncheckedIOException if the posts cannot be written to the output stream.
+     */
+    @Transactional(readOnly = true)
+    public void export(OutputStream outputStream) {
+        try (Stream<? extends PostEntity> questions = repository.streamAllByOrderByIdAsc();
+             Stream<? extends PostEntity> replies = repliesRepository.streamAllByOrderByIdAsc()) {
+            Iterator<? extends PostEntity> nextQuestions = questions.iterator();
+            Iterator<? extends PostEntity> nextReplies = replies.iterator();
+            PostEntity question = next(nextQuestions);
+            PostEntity reply = next(nextReplies);
+            while (question != null || reply != null) {
+                if (reply == null || (question != null && question.getId() < reply.getId())) {
+                    write(outputStream, question);
+                    question = next(nextQuestions);
+                } else {
+                    write(outputStream, reply);
+                    reply = next(nextReplies);
+                }
+            }
+        }
+    }
+
+    private PostEntity next(Iterator<? extends PostEntity> posts) {
+        return posts.hasNext() ? posts.next() : null;
+    }
+
+    private void write(OutputStream outputStream, PostEntity post) {
+        write(outputStream, PostDetails.builder()
+                .id(post.getId())
+                .questionId(post.getQuestionId())
+                .author(post.getAuthor())
+                .message(post.getMessage())
+                .build());
+        entityManager.detach(post);
+    }
+
+    private void write(OutputStream outputStream, PostDetails post) {
+        try {
+            outputStream.write(objectMapper.writeValueAsBytes(post));
+            outputStream.write(NEW_LINE);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
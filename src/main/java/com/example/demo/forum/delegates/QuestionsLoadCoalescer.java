@@ -0,0 +1,94 @@
+package com.example.demo.forum.delegates;
+
+import com.example.demo.forum.exceptions.QuestionsApiException;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight loads for {@link QuestionControllerDelegate}. The first request for a key runs the load on its own
+ * thread, requests for the same key arriving while it runs wait for it and share its result or exception instead of
+ * reading the database again. A waiting request fails with ERROR019 (503) once waitTimeout elapses, the load itself
+ * is never interrupted. Nothing is kept once a load completes, caching the result is left to the caller.
+ * Shared and timed out requests are counted in {@value #COALESCED_METRIC} and {@value #TIMEOUT_METRIC}.
+ *
+ * @author Sathish Pendem
+ */
+@Component
+@EnableConfigurationProperties(CoalescingProperties.class)
+public class QuestionsLoadCoalescer {
+
+    static final String IN_FLIGHT_METRIC = "questions.coalescing.in_flight";
+    static final String COALESCED_METRIC = "questions.coalescing.coalesced";
+    static final String TIMEOUT_METRIC = "questions.coalescing.timeouts";
+
+    private final CoalescingProperties properties;
+    private final Map<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    public QuestionsLoadCoalescer(CoalescingProperties properties) {
+        this.properties = properties;
+        if (properties.isEnabled()) {
+            Metrics.gauge(IN_FLIGHT_METRIC, inFlight, Map::size);
+        }
+    }
+
+    /**
+     * Runs the load, or waits for the load of the same key already running in another request.
+     *
+     * @param key    identifies the load, equal keys share one load.
+     * @param loader reads the result from the database.
+     * @return result of the load.
+     * @throws QuestionsApiException with status 503 if the wait for another request times out, or the exception
+     *                               thrown by the load.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T load(Object key, Supplier<T> loader) {
+        if (!properties.isEnabled()) {
+            return loader.get();
+        }
+        CompletableFuture<Object> load = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, load);
+        if (running != null) {
+            return (T) await(running);
+        }
+        try {
+            T result = loader.get();
+            load.complete(result);
+            return result;
+        } catch (RuntimeException | Error ex) {
+            load.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, load);
+        }
+    }
+
+    private Object await(CompletableFuture<Object> running) {
+        try {
+            Object result = running.get(properties.getWaitTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            Metrics.counter(COALESCED_METRIC).increment();
+            return result;
+        } catch (ExecutionException ex) {
+            Metrics.counter(COALESCED_METRIC).increment();
+            if (ex.getCause() instanceof Error) {
+                throw (Error) ex.getCause();
+            }
+            throw (RuntimeException) ex.getCause();
+        } catch (TimeoutException ex) {
+            Metrics.counter(TIMEOUT_METRIC).increment();
+            throw new QuestionsApiException("Timed out waiting for the question to be read, retry later.", ex, "ERROR019", HttpStatus.SERVICE_UNAVAILABLE);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new QuestionsApiException("Interrupted while waiting for the question to be read.", ex, "ERROR019", HttpStatus.SERVICE_UNAVAILABLE);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.demo.forum.delegates;
+
+import com.example.demo.forum.exceptions.QuestionsApiException;
+import com.example.demo.forum.model.PostQuestionReplyBody;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.StringUtils;
+
+/**
+ * Input validation shared by {@link QuestionControllerDelegate} and the reactive handlers in
+ * {@link com.example.demo.forum.reactive}, so both variants of the api answer invalid requests with the same error codes.
+ *
+ * @author Sathish Pendem
+ */
+public final class QuestionsRequestValidator {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private QuestionsRequestValidator() {
+    }
+
+    /**
+     * Validates the limit of a page request.
+     *
+     * @param limit   requested page size, null to use {@link #DEFAULT_PAGE_SIZE}.
+     * @param minimum smallest accepted limit.
+     * @return page size to read.
+     * @throws QuestionsApiException ERROR010 if the limit is not between minimum and {@link #MAX_PAGE_SIZE}.
+     */
+    public static int validatePageSize(Integer limit, int minimum) {
+        if (limit == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (limit < minimum || limit > MAX_PAGE_SIZE) {
+            throw new QuestionsApiException("Invalid input. Limit must be between " + minimum + " and " + MAX_PAGE_SIZE + ".", null, "ERROR010", HttpStatus.UNPROCESSABLE_ENTITY);
+        }
+        return limit;
+    }
+
+    /**
+     * Validates the body of a new question or reply.
+     *
+     * @param request question or reply request body, null when the request has no body.
+     * @throws QuestionsApiException ERROR008 if the author or ERROR009 if the message is empty.
+     */
+    public static void validateInputRequest(PostQuestionReplyBody request) {
+        if (request == null || !StringUtils.hasLength(request.getAuthor())) {
+            throw new QuestionsApiException("Invalid input. Author cannot be empty or null.", null, "ERROR008", HttpStatus.UNPROCESSABLE_ENTITY);
+        }
+        if (!StringUtils.hasLength(request.getMessage())) {
+            throw new QuestionsApiException("Invalid input. Message cannot be empty or null.", null, "ERROR009", HttpStatus.UNPROCESSABLE_ENTITY);
+        }
+    }
+}
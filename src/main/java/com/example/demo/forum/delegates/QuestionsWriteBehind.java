@@ -0,0 +1,282 @@
+package com.example.demo.forum.delegates;
+
+import com.example.demo.forum.exceptions.QuestionsApiException;
+import com.example.demo.forum.persistence.PostEntity;
+import com.example.demo.forum.persistence.QuestionsEntity;
+import com.example.demo.forum.persistence.RepliesEntity;
+import com.example.demo.forum.search.QuestionsSearchIndex;
+import com.example.demo.forum.stream.RepliesStreamHub;
+import io.micrometer.core.instrument.Metrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Write-behind queue of new questions and replies for {@link QuestionControllerDelegate}.
+ * When enabled, posts with a reserved id are queued in a bounded queue and saved by a single writer thread
+ * with {@link QuestionsBulkWriter}, in batches of up to batchSize posts or whatever was queued within flushInterval.
+ * Posts are rejected with ERROR016 (429) while the queue is full. On shutdown new posts are rejected and
+ * the posts already queued are saved before the application context is closed.
+ * When a batch fails to save, its posts are retried one by one after retryBackoff, so a single bad post does not
+ * lose the rest of its batch. Posts failing again are kept in a bounded dead-letter queue.
+ * Questions are pending from the moment they are queued until their batch is saved, replies to them are accepted.
+ *
+ * @author Sathish Pendem
+ */
+@Component
+@EnableConfigurationProperties(WriteBehindProperties.class)
+public class QuestionsWriteBehind {
+
+    static final String QUEUE_METRIC = "questions.write_behind.queue";
+    static final String WRITTEN_METRIC = "questions.write_behind.written";
+    static final String FAILED_METRIC = "questions.write_behind.failed";
+    static final String RETRIED_METRIC = "questions.write_behind.retried";
+    static final String DEAD_LETTERS_METRIC = "questions.write_behind.dead_letters";
+
+    private static final Logger log = LoggerFactory.getLogger(QuestionsWriteBehind.class);
+
+    private final WriteBehindProperties properties;
+    private final QuestionsBulkWriter bulkWriter;
+    private final QuestionDetailsCache detailsCache;
+    private final QuestionsSearchIndex searchIndex;
+    private final RepliesStreamHub repliesStream;
+    private final BlockingQueue<PostEntity> queue;
+    private final BlockingQueue<PostEntity> deadLetters;
+    private final Set<Long> pendingQuestions = ConcurrentHashMap.newKeySet();
+    private final Thread writer;
+    private final ReadWriteLock accepting = new ReentrantReadWriteLock();
+    private volatile boolean running;
+
+    public QuestionsWriteBehind(WriteBehindProperties properties, QuestionsBulkWriter bulkWriter,
+                                QuestionDetailsCache detailsCache, QuestionsSearchIndex searchIndex,
+                                RepliesStreamHub repliesStream) {
+        this.properties = properties;
+        this.bulkWriter = bulkWriter;
+        this.detailsCache = detailsCache;
+        this.searchIndex = searchIndex;
+        this.repliesStream = repliesStream;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.deadLetters = new ArrayBlockingQueue<>(properties.getDeadLetterCapacity());
+        this.writer = new Thread(this::run, "questions-write-behind");
+    }
+
+    /**
+     * @return true when new posts are queued instead of saved in the request.
+     */
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    @PostConstruct
+    public void start() {
+        if (isEnabled()) {
+            Metrics.gauge(QUEUE_METRIC, queue, Collection::size);
+            Metrics.gauge(DEAD_LETTERS_METRIC, deadLetters, Collection::size);
+            running = true;
+            writer.start();
+        }
+    }
+
+    /**
+     * Queues the post to be saved by the writer thread.
+     *
+     * @param post question or reply with its reserved id set.
+     * @throws QuestionsApiException with status 429 if the queue is full or the application is shutting down.
+     */
+    public void enqueue(PostEntity post) {
+        // Held while queueing so stop cannot let the writer exit between the running check and the offer.
+        accepting.readLock().lock();
+        try {
+            if (post instanceof QuestionsEntity) {
+                pendingQuestions.add(post.getReservedId());
+            }
+            if (!running || !queue.offer(post)) {
+                pendingQuestions.remove(post.getReservedId());
+                throw new QuestionsApiException("Too many posts waiting to be saved, retry later.", null, "ERROR016", HttpStatus.TOO_MANY_REQUESTS);
+            }
+        } finally {
+            accepting.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param questionId id of a question.
+     * @return true if the question is queued and not saved yet.
+     */
+    public boolean isPending(Long questionId) {
+        return pendingQuestions.contains(questionId);
+    }
+
+    /**
+     * @return posts which could not be saved after a retry, oldest first.
+     */
+    public List<PostEntity> getDeadLetters() {
+        return new ArrayList<>(deadLetters);
+    }
+
+    /**
+     * Stops accepting posts and waits for the queued posts to be saved.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        stopAccepting();
+        writer.join(properties.getDrainTimeout().toMillis());
+        if (!queue.isEmpty()) {
+            log.error("{} queued posts were not saved before shutdown.", queue.size());
+        }
+    }
+
+    private void run() {
+        List<PostEntity> batch = new ArrayList<>(properties.getBatchSize());
+        while (running || !queue.isEmpty()) {
+            try {
+                collect(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                stopAccepting();
+            }
+            if (!batch.isEmpty()) {
+                write(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Rejects new posts. Once it returns every accepted post is in the queue, where the writer finds it before exiting.
+     */
+    private void stopAccepting() {
+        accepting.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            accepting.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Waits for a first post and then for more posts until the batch is full or the flush interval has passed.
+     */
+    private void collect(List<PostEntity> batch) throws InterruptedException {
+        long flushInterval = properties.getFlushInterval().toNanos();
+        PostEntity first = queue.poll(flushInterval, TimeUnit.NANOSECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + flushInterval;
+        while (batch.size() < properties.getBatchSize()) {
+            queue.drainTo(batch, properties.getBatchSize() - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= properties.getBatchSize() || remaining <= 0 || !running) {
+                return;
+            }
+            PostEntity next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    /**
+     * Saves the questions of the batch before its replies, so replies to questions of the same batch find them.
+     */
+    private void write(List<PostEntity> batch) {
+        List<QuestionsEntity> questions = batch.stream()
+                .filter(QuestionsEntity.class::isInstance)
+                .map(QuestionsEntity.class::cast)
+                .collect(Collectors.toList());
+        List<RepliesEntity> replies = batch.stream()
+                .filter(RepliesEntity.class::isInstance)
+                .map(RepliesEntity.class::cast)
+                .collect(Collectors.toList());
+        if (!questions.isEmpty()) {
+            save(questions, this::saveQuestions);
+        }
+        if (!replies.isEmpty()) {
+            save(replies, this::saveReplies);
+        }
+    }
+
+    /**
+     * Saves the posts in one transaction, or one by one after retryBackoff if that fails.
+     */
+    private <T extends PostEntity> void save(List<T> posts, Consumer<List<T>> saver) {
+        try {
+            saver.accept(posts);
+            return;
+        } catch (Exception ex) {
+            log.warn("Failed to save {} queued posts, retrying them one by one.", posts.size(), ex);
+        }
+        backoff();
+        Metrics.counter(RETRIED_METRIC).increment(posts.size());
+        for (T post : posts) {
+            try {
+                saver.accept(Collections.singletonList(post));
+            } catch (Exception ex) {
+                log.error("Failed to save queued post {}, moved to the dead letters.", post.getReservedId(), ex);
+                Metrics.counter(FAILED_METRIC).increment();
+                deadLetter(post);
+            }
+        }
+    }
+
+    private void saveQuestions(List<QuestionsEntity> questions) {
+        bulkWriter.saveQuestions(questions).forEach(searchIndex::index);
+        questions.forEach(question -> pendingQuestions.remove(question.getReservedId()));
+        Metrics.counter(WRITTEN_METRIC).increment(questions.size());
+    }
+
+    private void saveReplies(List<RepliesEntity> replies) {
+        bulkWriter.saveReplies(replies).forEach(reply -> {
+            searchIndex.index(reply);
+            repliesStream.publish(reply);
+        });
+        replies.stream()
+                .map(RepliesEntity::getQuestionId)
+                .distinct()
+                .forEach(detailsCache::evict);
+        Metrics.counter(WRITTEN_METRIC).increment(replies.size());
+    }
+
+    /**
+     * Keeps the post in the dead-letter queue, dropping the oldest dead letter when it is full.
+     */
+    private void deadLetter(PostEntity post) {
+        pendingQuestions.remove(post.getReservedId());
+        while (!deadLetters.offer(post)) {
+            deadLetters.poll();
+        }
+    }
+
+    private void backoff() {
+        try {
+            Thread.sleep(properties.getRetryBackoff().toMillis());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            stopAccepting();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.demo.forum.delegates;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the write-behind mode of addQuestion and createReply, bound from {@code forum.write-behind}.
+ *
+ * @author Sathish Pendem
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "forum.write-behind")
+public class WriteBehindProperties {
+
+    /**
+     * Queue new posts and save them in batches instead of saving them in the request.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Maximum number of posts waiting to be saved, further posts are rejected with 429.
+     */
+    private int queueCapacity = 10000;
+
+    /**
+     * Maximum number of posts saved in one transaction.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Maximum time a post waits in the queue for its batch to fill up.
+     */
+    private Duration flushInterval = Duration.ofMillis(100);
+
+    /**
+     * Time to wait after a batch failed to save before retrying its posts one by one.
+     */
+    private Duration retryBackoff = Duration.ofMillis(200);
+
+    /**
+     * Maximum number of posts kept after failing their retry, the oldest are dropped beyond it.
+     */
+    private int deadLetterCapacity = 1000;
+
+    /**
+     * Maximum time to wait on shutdown for the queued posts to be saved.
+     */
+    private Duration drainTimeout = Duration.ofSeconds(30);
+}
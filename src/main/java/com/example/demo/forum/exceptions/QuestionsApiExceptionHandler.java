@@ -1,5 +1,6 @@
 package com.example.demo.forum.exceptions;
 
+import io.micrometer.core.instrument.Metrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
@@ -11,12 +12,14 @@ import static java.util.Optional.ofNullable;
 
 /**
  * ExceptionHandler to handle all {@link QuestionsApiException} thrown by all components.
+ * Every error is counted by the {@value #API_ERRORS} counter tagged by error code and http status.
  * @author  Sathish Pendem
  */
 @ControllerAdvice
 public class QuestionsApiExceptionHandler {
 
     private static final Logger log = LoggerFactory.getLogger(QuestionsApiExceptionHandler.class);
+    static final String API_ERRORS = "questions.api.errors";
 
     /** ControlleAdvice to handle all {@link QuestionsApiException} throws by the components.
      * @param   ex  {@link QuestionsApiException} thrown by the api.
@@ -24,17 +27,25 @@ public class QuestionsApiExceptionHandler {
      */
     @ExceptionHandler(QuestionsApiException.class)
     public ResponseEntity<?> handleApiException(QuestionsApiException ex) {
+        return new ResponseEntity(errorResponse(ex), ex.getStatus());
+    }
+
+    /** Logs and counts the {@link QuestionsApiException} and builds the error response sent for it.
+     * Also used by the reactive variant of the api to answer with the same error body.
+     * @param   ex  {@link QuestionsApiException} thrown by the api.
+     * @return  {@link QuestionsApiErrorResponse} to send to the user with the status of the exception.
+     */
+    public static QuestionsApiErrorResponse errorResponse(QuestionsApiException ex) {
         log.error(ex.getMessage());
-        return new ResponseEntity(
-                QuestionsApiErrorResponse.builder()
-                        .errorCode(ex.getErrorCode())
-                        .message(ex.getMessage())
-                        .description(ofNullable(ex.getCause())
-                                .map(cause -> cause.getLocalizedMessage())
-                                .orElse(ex.getMessage())
-                        )
-                        .build(),
-                ex.getStatus());
+        Metrics.counter(API_ERRORS, "errorCode", ex.getErrorCode(), "status", String.valueOf(ex.getStatus().value())).increment();
+        return QuestionsApiErrorResponse.builder()
+                .errorCode(ex.getErrorCode())
+                .message(ex.getMessage())
+                .description(ofNullable(ex.getCause())
+                        .map(cause -> cause.getLocalizedMessage())
+                        .orElse(ex.getMessage())
+                )
+                .build();
     }
 
     /** ControlleAdvice to handle all other unknown exceptions thrown by the api.
@@ -45,6 +56,7 @@ public class QuestionsApiExceptionHandler {
     @ExceptionHandler(Exception.class)
     public ResponseEntity<?> handleAllExceptions(Exception ex) {
         log.error(ex.getMessage());
+        Metrics.counter(API_ERRORS, "errorCode", "ERROR000", "status", String.valueOf(HttpStatus.INTERNAL_SERVER_ERROR.value())).increment();
         return new ResponseEntity(
                 QuestionsApiErrorResponse.builder()
                         .errorCode("ERROR000")
@@ -8,7 +8,7 @@ import org.springframework.validation.annotation.Validated;
  * PostQuestionReplyBody
  */
 @Validated
-@javax.annotation.Generated(value = "io.swagger.codegen.languages.SpringCodegen", date = "2020-09-20T00:54:17.931Z")
+@jakarta.annotation.Generated(value = "io.swagger.codegen.languages.SpringCodegen", date = "2020-09-20T00:54:17.931Z")
 
 @Builder
 public class PostQuestionReplyBody {
@@ -1,6 +1,7 @@
 package com.example.demo.forum.model;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import org.springframework.validation.annotation.Validated;
 
@@ -8,10 +9,11 @@ import org.springframework.validation.annotation.Validated;
  * QuestionDetails
  */
 @Validated
-@javax.annotation.Generated(value = "io.swagger.codegen.languages.SpringCodegen", date = "2020-09-20T00:54:17.931Z")
+@jakarta.annotation.Generated(value = "io.swagger.codegen.languages.SpringCodegen", date = "2020-09-20T00:54:17.931Z")
 
 
 @Builder
+@AllArgsConstructor
 public class QuestionDetails {
     @JsonProperty("id")
     private Long id = null;
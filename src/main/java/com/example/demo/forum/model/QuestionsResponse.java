@@ -4,14 +4,14 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Builder;
 import org.springframework.validation.annotation.Validated;
 
-import javax.validation.Valid;
+import jakarta.validation.Valid;
 import java.util.List;
 
 /**
  * QuestionsResponse
  */
 @Validated
-@javax.annotation.Generated(value = "io.swagger.codegen.languages.SpringCodegen", date = "2020-09-20T00:54:17.931Z")
+@jakarta.annotation.Generated(value = "io.swagger.codegen.languages.SpringCodegen", date = "2020-09-20T00:54:17.931Z")
 
 
 @Builder
@@ -29,6 +29,9 @@ public class QuestionsResponse {
     @Valid
     private List<ReplyDetails> replies = null;
 
+    @JsonProperty("nextCursor")
+    private Long nextCursor = null;
+
     /**
      * Get id
      *
@@ -76,5 +79,17 @@ public class QuestionsResponse {
         return replies;
     }
 
+
+    /**
+     * reply id to pass as after parameter to read the next page of replies, null when there are no more replies
+     *
+     * @return nextCursor
+     **/
+
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+
 }
 
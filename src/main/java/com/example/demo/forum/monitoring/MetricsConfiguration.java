@@ -0,0 +1,21 @@
+package com.example.demo.forum.monitoring;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Records the {@link io.micrometer.core.annotation.Timed} operations of
+ * {@link com.example.demo.forum.api.QuestionsApiController} as questions.api timers.
+ *
+ * @author Sathish Pendem
+ */
+@Configuration
+public class MetricsConfiguration {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+}
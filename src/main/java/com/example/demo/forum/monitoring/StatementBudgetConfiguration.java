@@ -0,0 +1,41 @@
+package com.example.demo.forum.monitoring;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Wires {@link StatementCounter} into Hibernate as statement inspector and
+ * registers {@link StatementBudgetGuard} for every API request.
+ *
+ * @author Sathish Pendem
+ */
+@Configuration
+@EnableConfigurationProperties(StatementBudgetProperties.class)
+public class StatementBudgetConfiguration implements WebMvcConfigurer {
+
+    private final StatementBudgetGuard guard;
+
+    public StatementBudgetConfiguration(StatementBudgetGuard guard) {
+        this.guard = guard;
+    }
+
+    @Bean
+    public static StatementCounter statementCounter() {
+        return new StatementCounter();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer statementCounterCustomizer(StatementCounter counter) {
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, counter);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(guard).addPathPatterns("/questions/**");
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.demo.forum.monitoring;
+
+import com.example.demo.forum.exceptions.QuestionsApiException;
+import io.micrometer.core.instrument.Metrics;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Counts the SQL statements issued by every API request with {@link StatementCounter}.
+ * The count is sent back in the {@value #STATEMENT_COUNT_HEADER} response header, recorded in the
+ * {@value #STATEMENTS_METRIC} distribution tagged by operation and checked against the budget configured in
+ * {@link StatementBudgetProperties}. Requests over budget are logged and counted, or failed with ERROR013
+ * when failOnExceed is set.
+ * Runs before the other response body advices, which may write the body themselves.
+ *
+ * @author Sathish Pendem
+ */
+@ControllerAdvice
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class StatementBudgetGuard implements HandlerInterceptor, ResponseBodyAdvice<Object> {
+
+    public static final String STATEMENT_COUNT_HEADER = "X-Statement-Count";
+    static final String STATEMENTS_METRIC = "questions.api.statements";
+    static final String BUDGET_EXCEEDED_METRIC = "questions.api.statements.budget.exceeded";
+
+    private static final Logger log = LoggerFactory.getLogger(StatementBudgetGuard.class);
+    private static final String OPERATION = StatementBudgetGuard.class.getName() + ".operation";
+    private static final String CHECKED = StatementBudgetGuard.class.getName() + ".checked";
+
+    private final StatementCounter counter;
+    private final StatementBudgetProperties properties;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod) {
+            request.setAttribute(OPERATION, ((HandlerMethod) handler).getMethod().getName());
+            counter.start();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object operation = request.getAttribute(OPERATION);
+        if (operation != null) {
+            Metrics.summary(STATEMENTS_METRIC, "operation", operation.toString()).record(counter.stop());
+        }
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    /**
+     * Adds the statement count header once the handler has run and before the body is written,
+     * and checks the count against the budget of the operation.
+     */
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (!(request instanceof ServletServerHttpRequest)) {
+            return body;
+        }
+        HttpServletRequest servletRequest = ((ServletServerHttpRequest) request).getServletRequest();
+        Object operation = servletRequest.getAttribute(OPERATION);
+        if (operation == null) {
+            return body;
+        }
+        int statements = counter.current();
+        response.getHeaders().set(STATEMENT_COUNT_HEADER, String.valueOf(statements));
+        if (servletRequest.getAttribute(CHECKED) == null) {
+            servletRequest.setAttribute(CHECKED, Boolean.TRUE);
+            checkBudget(operation.toString(), statements);
+        }
+        return body;
+    }
+
+    private void checkBudget(String operation, int statements) {
+        Integer budget = properties.getBudgets().get(operation);
+        if (budget == null || statements <= budget) {
+            return;
+        }
+        Metrics.counter(BUDGET_EXCEEDED_METRIC, "operation", operation).increment();
+        String message = "Statement budget exceeded by " + operation + ": " + statements + " statements, budget " + budget + ".";
+        if (properties.isFailOnExceed()) {
+            throw new QuestionsApiException(message, null, "ERROR013", HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+        log.warn(message);
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.demo.forum.monitoring;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration of the per request SQL statement budget, bound from {@code forum.statement-budget}.
+ *
+ * @author Sathish Pendem
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "forum.statement-budget")
+public class StatementBudgetProperties {
+
+    /**
+     * Fail requests exceeding their budget instead of only logging and counting them. Meant for tests.
+     */
+    private boolean failOnExceed = false;
+
+    /**
+     * Maximum number of statements per request keyed by {@link com.example.demo.forum.api.QuestionsApi} operation name.
+     * Operations without a budget are only counted.
+     */
+    private Map<String, Integer> budgets = new HashMap<>();
+}
@@ -0,0 +1,49 @@
+package com.example.demo.forum.monitoring;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate {@link StatementInspector} counting the SQL statements prepared by the current thread.
+ * Counting is only done between {@link #start()} and {@link #stop()}, statements are passed through unchanged.
+ *
+ * @author Sathish Pendem
+ */
+public class StatementCounter implements StatementInspector {
+
+    private final ThreadLocal<int[]> count = new ThreadLocal<>();
+
+    /**
+     * Starts counting statements prepared by the current thread from zero.
+     */
+    public void start() {
+        count.set(new int[1]);
+    }
+
+    /**
+     * @return number of statements prepared by the current thread since {@link #start()}, 0 if not counting.
+     */
+    public int current() {
+        int[] current = count.get();
+        return current == null ? 0 : current[0];
+    }
+
+    /**
+     * Stops counting statements for the current thread.
+     *
+     * @return number of statements prepared since {@link #start()}.
+     */
+    public int stop() {
+        int current = current();
+        count.remove();
+        return current;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        int[] current = count.get();
+        if (current != null) {
+            current[0]++;
+        }
+        return sql;
+    }
+}
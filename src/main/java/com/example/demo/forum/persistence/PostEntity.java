@@ -0,0 +1,42 @@
+package com.example.demo.forum.persistence;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.GenericGenerator;
+
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.Transient;
+
+/**
+ * Columns shared by {@link QuestionsEntity} and {@link RepliesEntity}, which are stored in separate tables.
+ * Both take their ids from the same sequence, so a post id identifies either a question or a reply.
+ *
+ * @author Sathish Pendem
+ */
+@Getter
+@SuperBuilder
+@NoArgsConstructor
+@MappedSuperclass
+public abstract class PostEntity {
+
+    @Id
+    @GeneratedValue(generator = "questions_id")
+    @GenericGenerator(name = "questions_id", type = QuestionsIdGenerator.class)
+    private Long id;
+    private String author;
+    private String message;
+
+    /**
+     * Id reserved with {@link QuestionsIdAllocator} before the post is saved, assigned as id when it is inserted.
+     */
+    @Transient
+    private Long reservedId;
+
+    /**
+     * @return id of the question replied to, null for questions.
+     */
+    public abstract Long getQuestionId();
+}
@@ -0,0 +1,23 @@
+package com.example.demo.forum.persistence;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Read-only projection of a question joined with one of its replies, populated by
+ * {@link QuestionsReadRepository#findQuestionWithReplies}. The reply columns are null for a question without replies.
+ *
+ * @author Sathish Pendem
+ */
+@Getter
+@AllArgsConstructor
+public class QuestionRepliesRow {
+
+    private Long id;
+    private String author;
+    private String message;
+    private Long version;
+    private Long replyId;
+    private String replyAuthor;
+    private String replyMessage;
+}
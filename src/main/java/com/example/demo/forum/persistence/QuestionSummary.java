@@ -0,0 +1,23 @@
+package com.example.demo.forum.persistence;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Read-only projection of a top level question along with the number of replies posted to it.
+ * Populated from the questions table by the reactive variant of the api, the servlet api reads
+ * {@link com.example.demo.forum.model.QuestionDetails} directly through {@link QuestionsReadRepository}.
+ *
+ * @author Sathish Pendem
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class QuestionSummary {
+
+    private Long id;
+    private String author;
+    private String message;
+    private Long replyCount;
+}
@@ -1,37 +1,59 @@
 package com.example.demo.forum.persistence;
 
-import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
-import javax.persistence.*;
+import jakarta.persistence.*;
 import java.util.List;
 
 /**
- * JPA Entity for Questions and Replies to Store in DB with
- * a self reference by replies to its corresponding questions.
+ * JPA Entity for Questions to Store in DB. Replies are stored in their own table, see {@link RepliesEntity}.
+ * Questions are only read by id, which the primary key covers.
+ * Entities and their replies collection are kept in the Hibernate second-level cache, see {@link RepliesCacheEviction}.
+ * Every update of the reply count is a bulk update, which Hibernate answers by evicting the {@value #CACHE_REGION}
+ * region as a whole.
  *
  * @author Sathish Pendem
  */
 @Getter
-@Builder
+@SuperBuilder
 @NoArgsConstructor
-@AllArgsConstructor
 @Entity
-public class QuestionsEntity {
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = QuestionsEntity.CACHE_REGION)
+public class QuestionsEntity extends PostEntity {
 
-    @Id
-    @GeneratedValue
-    private Long id;
-    private String author;
-    private String message;
-    private Long parentQuestionId;
+    public static final String CACHE_REGION = "questions";
+    public static final String REPLIES_CACHE_REGION = "questionReplies";
+
+    /**
+     * Number of replies to this question, maintained by {@link QuestionsRepository#incrementReplyCount(Long, Long)}.
+     */
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long replyCount = 0L;
+
+    /**
+     * Incremented together with the reply count, so it changes whenever the details of the question change.
+     * Null until the question is saved, which is how new questions are told apart from saved ones.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
 
     @OneToMany(mappedBy = "question", fetch = FetchType.LAZY)
-    private List<QuestionsEntity> replies;
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = QuestionsEntity.REPLIES_CACHE_REGION)
+    private List<RepliesEntity> replies;
 
-    @JoinColumn(name = "parentQuestionId", referencedColumnName = "id", insertable = false, updatable = false)
-    @ManyToOne(fetch = FetchType.LAZY)
-    private QuestionsEntity question;
+    @Override
+    public Long getQuestionId() {
+        return null;
+    }
 }
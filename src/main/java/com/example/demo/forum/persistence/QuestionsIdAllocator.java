@@ -0,0 +1,38 @@
+package com.example.demo.forum.persistence;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Reserves ids for posts which are saved later, from the same {@link QuestionsIdGenerator} blocks used by inserts.
+ * Set the reserved id as {@link PostEntity#getReservedId()} of the post to save it with that id.
+ *
+ * @author Sathish Pendem
+ */
+@Component
+@RequiredArgsConstructor
+public class QuestionsIdAllocator {
+
+    private final EntityManager entityManager;
+
+    /**
+     * Reserves the next post id. Only one call per id block reaches the DB.
+     *
+     * @return id no other post is assigned.
+     */
+    @Transactional
+    public Long allocate() {
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        BeforeExecutionGenerator generator = (BeforeExecutionGenerator) session.getFactory()
+                .getMappingMetamodel()
+                .getEntityDescriptor(QuestionsEntity.class)
+                .getGenerator();
+        return (Long) generator.generate(session, null, null, EventType.INSERT);
+    }
+}
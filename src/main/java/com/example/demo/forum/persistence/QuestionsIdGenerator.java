@@ -0,0 +1,47 @@
+package com.example.demo.forum.persistence;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+/**
+ * Sequence based id generator for {@link QuestionsEntity} and {@link RepliesEntity} using the pooled-lo optimizer.
+ * A single call to the sequence reserves a block of ids which are then assigned in memory,
+ * so inserts do not need a round trip to the DB each.
+ * The block size is read from the {@code forum.id.allocation_size} JPA property and defaults to 50.
+ * The sequence increment in the DB must match the block size, change both together.
+ * Posts carrying an id reserved by {@link QuestionsIdAllocator} are saved with that id.
+ *
+ * @author Sathish Pendem
+ */
+public class QuestionsIdGenerator extends SequenceStyleGenerator {
+
+    public static final String ALLOCATION_SIZE = "forum.id.allocation_size";
+    public static final String SEQUENCE_NAME = "questions_sequence";
+    public static final int DEFAULT_ALLOCATION_SIZE = 50;
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+        Object allocationSize = serviceRegistry.getService(ConfigurationService.class)
+                .getSettings()
+                .getOrDefault(ALLOCATION_SIZE, DEFAULT_ALLOCATION_SIZE);
+        params.setProperty(SEQUENCE_PARAM, SEQUENCE_NAME);
+        params.setProperty(INCREMENT_PARAM, allocationSize.toString());
+        params.setProperty(OPT_PARAM, StandardOptimizerDescriptor.POOLED_LO.getExternalName());
+        super.configure(type, params, serviceRegistry);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        if (object instanceof PostEntity && ((PostEntity) object).getReservedId() != null) {
+            return ((PostEntity) object).getReservedId();
+        }
+        return super.generate(session, object);
+    }
+}
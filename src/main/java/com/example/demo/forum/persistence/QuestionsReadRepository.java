@@ -0,0 +1,99 @@
+package com.example.demo.forum.persistence;
+
+import com.example.demo.forum.model.QuestionDetails;
+import com.example.demo.forum.model.ReplyDetails;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_FLUSH_MODE;
+
+/**
+ * Read-only queries of the read endpoints. Rows are mapped by constructor expressions straight into the response
+ * models, no entity is loaded, so nothing is added to the persistence context and no dirty checking snapshot is taken.
+ * Every query runs in a read-only transaction with flush mode MANUAL, pending changes are never flushed before it.
+ *
+ * @author  Sathish Pendem
+ */
+@Transactional(readOnly = true)
+public interface QuestionsReadRepository extends Repository<QuestionsEntity, Long> {
+
+    /**
+     * Reads a page of questions together with their reply count from the denormalized replyCount column.
+     * Pages are addressed by the last question id seen (keyset pagination), so deep pages cost the same as the first.
+     *
+     * @param after    only questions with an id greater than this value are returned.
+     * @param pageable page size of the result, page number is expected to be always 0.
+     * Results are kept in the Hibernate query cache until the questions table is next written to.
+     *
+     * @return list of {@link QuestionDetails} ordered by question id.
+     */
+    @QueryHints({@QueryHint(name = HINT_FLUSH_MODE, value = "MANUAL"), @QueryHint(name = HINT_CACHEABLE, value = "true")})
+    @Query("select new com.example.demo.forum.model.QuestionDetails(q.id, q.author, q.message, q.replyCount) " +
+            "from QuestionsEntity q " +
+            "where q.id > :after " +
+            "order by q.id")
+    List<QuestionDetails> findQuestions(@Param("after") Long after, Pageable pageable);
+
+    /**
+     * Reads the questions with the given ids together with their reply count in a single query.
+     *
+     * @param ids ids of the questions to read.
+     * @return list of {@link QuestionDetails} of the ids that exist, in no particular order.
+     */
+    @QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "MANUAL"))
+    @Query("select new com.example.demo.forum.model.QuestionDetails(q.id, q.author, q.message, q.replyCount) " +
+            "from QuestionsEntity q " +
+            "where q.id in :ids")
+    List<QuestionDetails> findQuestionsByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Reads a question and a page of its replies ordered by reply id with a single statement.
+     * A question without replies after the cursor is returned as a single row without reply columns.
+     *
+     * @param questionId question to read.
+     * @param after      only replies with an id greater than this value are returned.
+     * @param pageable   page size of the result, page number is expected to be always 0.
+     * @return one {@link QuestionRepliesRow} per reply ordered by reply id, empty if the question does not exist.
+     */
+    @QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "MANUAL"))
+    @Query("select new com.example.demo.forum.persistence.QuestionRepliesRow(" +
+            "q.id, q.author, q.message, q.version, r.id, r.author, r.message) " +
+            "from QuestionsEntity q left join RepliesEntity r on r.questionId = q.id and r.id > :after " +
+            "where q.id = :questionId " +
+            "order by r.id")
+    List<QuestionRepliesRow> findQuestionWithReplies(@Param("questionId") Long questionId, @Param("after") Long after,
+                                                     Pageable pageable);
+
+    /**
+     * Reads a page of replies of a question ordered by reply id, served by the index on questionId and id.
+     *
+     * @param questionId question for which the replies are read.
+     * @param after      only replies with an id greater than this value are returned.
+     * @param pageable   page size of the result, page number is expected to be always 0.
+     * @return list of {@link ReplyDetails} ordered by id.
+     */
+    @QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "MANUAL"))
+    @Query("select new com.example.demo.forum.model.ReplyDetails(r.id, r.author, r.message) " +
+            "from RepliesEntity r " +
+            "where r.questionId = :questionId and r.id > :after " +
+            "order by r.id")
+    List<ReplyDetails> findReplies(@Param("questionId") Long questionId, @Param("after") Long after, Pageable pageable);
+
+    /**
+     * @param questionId question to read.
+     * @return version of the question, empty if the question does not exist.
+     */
+    @QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "MANUAL"))
+    @Query("select q.version from QuestionsEntity q where q.id = :questionId")
+    Optional<Long> findVersion(@Param("questionId") Long questionId);
+}
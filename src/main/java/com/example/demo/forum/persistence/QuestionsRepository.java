@@ -1,15 +1,83 @@
 package com.example.demo.forum.persistence;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_MODE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 /**
  * JPA repository for QuestionsEntity.
- * Defines method to get all Questions which are not replies.
+ * Replies are read through {@link RepliesRepository}, the read endpoints use {@link QuestionsReadRepository}.
  *
  * @author  Sathish Pendem
  */
 public interface QuestionsRepository  extends JpaRepository<QuestionsEntity, Long> {
-    List<QuestionsEntity> findByParentQuestionIdIsNull();
+
+    /**
+     * Atomically increments the reply count and the version of a question with a single update statement.
+     *
+     * @param questionId question to which replies were added.
+     * @param replies    number of replies added.
+     * @return number of rows updated, 0 if the question does not exist.
+     */
+    @Modifying
+    @Transactional
+    @Query("update QuestionsEntity q set q.replyCount = q.replyCount + :replies, q.version = q.version + 1 where q.id = :questionId")
+    int incrementReplyCount(@Param("questionId") Long questionId, @Param("replies") Long replies);
+
+    /**
+     * Reads which of the given ids exist in the DB in a single query.
+     *
+     * @param ids ids to look up.
+     * @return ids from the input that exist.
+     */
+    @Query("select q.id from QuestionsEntity q where q.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Recomputes the reply count of all questions with an id in the given range from the replies stored in the DB.
+     * Their versions are incremented as the reply counts may change.
+     *
+     * @param from questions with an id greater than this value are updated.
+     * @param to   questions with an id lower or equal to this value are updated.
+     * @return number of rows updated.
+     */
+    @Modifying
+    @Transactional
+    @Query("update QuestionsEntity q set q.replyCount = " +
+            "(select count(r.id) from RepliesEntity r where r.questionId = q.id), q.version = q.version + 1 " +
+            "where q.id > :from and q.id <= :to")
+    int backfillReplyCounts(@Param("from") Long from, @Param("to") Long to);
+
+    @Query("select coalesce(max(q.id), 0) from QuestionsEntity q")
+    Long findMaxId();
+
+    /**
+     * Reads every row of the questions table, which loads its pages into the DB page cache.
+     * A plain count(*) is answered by H2 from the table row count without reading any page.
+     *
+     * @return number of questions read.
+     */
+    @Query("select count(q.replyCount) from QuestionsEntity q where q.id > 0")
+    long scanQuestions();
+
+    /**
+     * Reads all questions ordered by id through a database cursor.
+     * Rows are fetched from the DB 500 at a time, the stream must be consumed and closed inside a transaction.
+     * The second-level cache is neither read nor filled, a full scan would evict the entries of the posts in use.
+     *
+     * @return stream of all question entities in the DB.
+     */
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_CACHE_MODE, value = "IGNORE")})
+    Stream<QuestionsEntity> streamAllByOrderByIdAsc();
 }
@@ -0,0 +1,51 @@
+package com.example.demo.forum.persistence;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Evicts the cached replies collection of a question from the Hibernate second-level cache once a reply to it has
+ * been committed. Replies are saved with their questionId only, the question association is never set, so Hibernate
+ * does not know which cached collection a new reply belongs to.
+ * Registered as post-commit insert listener, so it covers every way a reply is saved: single, bulk and write-behind.
+ *
+ * @author Sathish Pendem
+ */
+@Component
+@RequiredArgsConstructor
+public class RepliesCacheEviction implements PostInsertEventListener {
+
+    static final String REPLIES_ROLE = QuestionsEntity.class.getName() + ".replies";
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    public void register() {
+        entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class)
+                .appendListeners(EventType.POST_COMMIT_INSERT, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof RepliesEntity) {
+            event.getSession().getFactory().getCache()
+                    .evictCollectionData(REPLIES_ROLE, ((RepliesEntity) event.getEntity()).getQuestionId());
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return RepliesEntity.class.equals(persister.getMappedClass());
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.demo.forum.persistence;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.*;
+
+/**
+ * JPA Entity for Replies to Store in DB, referencing the question they reply to.
+ * Replies are read by question ordered by id, which the index on questionId and id covers.
+ * Replies are never updated once saved: the entity is immutable and kept read-only in the Hibernate second-level cache.
+ *
+ * @author Sathish Pendem
+ */
+@Getter
+@SuperBuilder
+@NoArgsConstructor
+@Entity
+@Cacheable
+@Immutable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = RepliesEntity.CACHE_REGION)
+@Table(indexes = @Index(name = "idx_replies_entity_question_id", columnList = "questionId, id"))
+public class RepliesEntity extends PostEntity {
+
+    public static final String CACHE_REGION = "replies";
+
+    @Column(nullable = false)
+    private Long questionId;
+
+    @JoinColumn(name = "questionId", referencedColumnName = "id", insertable = false, updatable = false)
+    @ManyToOne(fetch = FetchType.LAZY)
+    private QuestionsEntity question;
+}
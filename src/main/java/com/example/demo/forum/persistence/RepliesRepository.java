@@ -0,0 +1,52 @@
+package com.example.demo.forum.persistence;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import jakarta.persistence.QueryHint;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_MODE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
+/**
+ * JPA repository for RepliesEntity.
+ *
+ * @author  Sathish Pendem
+ */
+public interface RepliesRepository extends JpaRepository<RepliesEntity, Long> {
+
+    /**
+     * Reads a page of replies of a question ordered by reply id (keyset pagination).
+     * Served by the index on questionId and id without sorting.
+     *
+     * @param questionId question for which the replies are read.
+     * @param after      only replies with an id greater than this value are returned.
+     * @param pageable   page size of the result, page number is expected to be always 0.
+     * @return list of reply entities ordered by id.
+     */
+    List<RepliesEntity> findByQuestionIdAndIdGreaterThanOrderByIdAsc(Long questionId, Long after, Pageable pageable);
+
+    /**
+     * Reads every entry of the index on questionId and id, which loads its pages into the DB page cache.
+     * The index is named explicitly, H2 otherwise prefers the index it creates for the foreign key on questionId alone.
+     *
+     * @return number of index entries read.
+     */
+    @Query(value = "select count(id) from replies_entity use index (idx_replies_entity_question_id) where question_id > 0",
+            nativeQuery = true)
+    long scanQuestionIdIndex();
+
+    /**
+     * Reads all replies ordered by id through a database cursor.
+     * Rows are fetched from the DB 500 at a time, the stream must be consumed and closed inside a transaction.
+     * The second-level cache is neither read nor filled, a full scan would evict the entries of the posts in use.
+     *
+     * @return stream of all reply entities in the DB.
+     */
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_CACHE_MODE, value = "IGNORE")})
+    Stream<RepliesEntity> streamAllByOrderByIdAsc();
+}
@@ -0,0 +1,39 @@
+package com.example.demo.forum.persistence;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * One-off routine to populate the replyCount column of existing questions from the replies stored in the DB.
+ * Runs on startup only when {@code forum.reply-count.backfill} is set to true, e.g.
+ * {@code mvn spring-boot:run -Dspring-boot.run.arguments=--forum.reply-count.backfill=true}.
+ * Questions are updated in id ranges, each range in its own transaction.
+ *
+ * @author Sathish Pendem
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "forum.reply-count.backfill", havingValue = "true")
+public class ReplyCountBackfill implements ApplicationRunner {
+
+    static final long BATCH_SIZE = 10000;
+
+    private static final Logger log = LoggerFactory.getLogger(ReplyCountBackfill.class);
+
+    private final QuestionsRepository repository;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long maxId = repository.findMaxId();
+        long updated = 0;
+        for (long from = 0; from < maxId; from += BATCH_SIZE) {
+            updated += repository.backfillReplyCounts(from, Math.min(from + BATCH_SIZE, maxId));
+        }
+        log.info("Reply count backfill updated {} questions.", updated);
+    }
+}
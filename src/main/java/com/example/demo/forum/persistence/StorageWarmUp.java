@@ -0,0 +1,37 @@
+package com.example.demo.forum.persistence;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reads the questions table and the replies index on startup, so the first requests after a restart are served from
+ * the DB page cache instead of the disk. Runs only when {@code forum.warm-up.enabled} is set to true, which the
+ * {@code persistent} profile does. Application runners complete before the application reports it is ready to
+ * accept traffic.
+ *
+ * @author Sathish Pendem
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "forum.warm-up.enabled", havingValue = "true")
+public class StorageWarmUp implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(StorageWarmUp.class);
+
+    private final QuestionsRepository repository;
+    private final RepliesRepository repliesRepository;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        long questions = repository.scanQuestions();
+        long replies = repliesRepository.scanQuestionIdIndex();
+        log.info("Storage warm-up read {} questions and {} reply index entries in {} ms.",
+                questions, replies, (System.nanoTime() - start) / 1_000_000);
+    }
+}
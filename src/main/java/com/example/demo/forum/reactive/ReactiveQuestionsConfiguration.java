@@ -0,0 +1,87 @@
+package com.example.demo.forum.reactive;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
+import static org.springframework.web.reactive.function.server.RequestPredicates.POST;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+/**
+ * Reactive variant of the api, active with the {@code reactive} profile which also switches the application to WebFlux.
+ * addQuestion, createReply, getListOfQuestions and getQuestionDetails are served by {@link ReactiveQuestionsHandler}
+ * on the same paths as {@link com.example.demo.forum.api.QuestionsApi}, the other operations are not available.
+ * The JPA setup stays in place to create the schema and feed the components shared with the servlet variant.
+ *
+ * @author Sathish Pendem
+ */
+@Configuration
+@Profile("reactive")
+@EnableConfigurationProperties(ReactiveQuestionsProperties.class)
+public class ReactiveQuestionsConfiguration {
+
+    /**
+     * Spring Boot backs off from the JDBC datasource once a R2DBC connection factory exists,
+     * it is declared here from the same {@code spring.datasource} properties for JPA.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource")
+    public DataSourceProperties dataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionPool reactiveConnectionFactory(ReactiveQuestionsProperties properties) {
+        ConnectionFactory connectionFactory = ConnectionFactories.get(ConnectionFactoryOptions.parse(properties.getUrl())
+                .mutate()
+                .option(ConnectionFactoryOptions.USER, properties.getUsername())
+                .option(ConnectionFactoryOptions.PASSWORD, properties.getPassword())
+                .build());
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(connectionFactory)
+                .maxSize(properties.getMaxPoolSize())
+                .build());
+    }
+
+    @Bean
+    public DatabaseClient reactiveDatabaseClient(ConnectionFactory reactiveConnectionFactory) {
+        return DatabaseClient.create(reactiveConnectionFactory);
+    }
+
+    /**
+     * The transaction manager is not registered as a bean: a second transaction manager would stop Spring Boot from
+     * creating the JPA one.
+     */
+    @Bean
+    public TransactionalOperator reactiveTransactionalOperator(ConnectionFactory reactiveConnectionFactory) {
+        return TransactionalOperator.create(new R2dbcTransactionManager(reactiveConnectionFactory));
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> reactiveQuestionsRoutes(ReactiveQuestionsHandler handler) {
+        return route(POST("/questions"), handler::addQuestion)
+                .andRoute(POST("/questions/{questionId}/reply"), handler::createReply)
+                .andRoute(GET("/questions"), handler::getListOfQuestions)
+                .andRoute(GET("/questions/{questionId}"), handler::getQuestionDetails);
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.demo.forum.reactive;
+
+import com.example.demo.forum.exceptions.QuestionsApiException;
+import com.example.demo.forum.exceptions.QuestionsApiExceptionHandler;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.HttpMessageWriter;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.reactive.result.view.ViewResolver;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebExceptionHandler;
+import reactor.core.publisher.Mono;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reactive counterpart of {@link QuestionsApiExceptionHandler}: answers every {@link QuestionsApiException} with the
+ * same status and {@link com.example.demo.forum.exceptions.QuestionsApiErrorResponse} body.
+ * Runs before the Spring Boot error handler, other exceptions are left to it.
+ * Errors of a streamed list can only be reported until its first question has been written.
+ *
+ * @author Sathish Pendem
+ */
+@Component
+@Profile("reactive")
+@Order(-2)
+public class ReactiveQuestionsExceptionHandler implements WebExceptionHandler, ServerResponse.Context {
+
+    private final ServerCodecConfigurer codecConfigurer;
+
+    public ReactiveQuestionsExceptionHandler(ServerCodecConfigurer codecConfigurer) {
+        this.codecConfigurer = codecConfigurer;
+    }
+
+    @Override
+    public Mono<Void> handle(ServerWebExchange exchange, Throwable ex) {
+        if (!(ex instanceof QuestionsApiException) || exchange.getResponse().isCommitted()) {
+            return Mono.error(ex);
+        }
+        QuestionsApiException apiEx = (QuestionsApiException) ex;
+        return ServerResponse.status(apiEx.getStatus())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(QuestionsApiExceptionHandler.errorResponse(apiEx))
+                .flatMap(response -> response.writeTo(exchange, this));
+    }
+
+    @Override
+    public List<HttpMessageWriter<?>> messageWriters() {
+        return codecConfigurer.getWriters();
+    }
+
+    @Override
+    public List<ViewResolver> viewResolvers() {
+        return Collections.emptyList();
+    }
+}
@@ -0,0 +1,190 @@
+package com.example.demo.forum.reactive;
+
+import com.example.demo.forum.exceptions.QuestionsApiException;
+import com.example.demo.forum.model.PostQuestionReplyBody;
+import com.example.demo.forum.model.PostReplyResponse;
+import com.example.demo.forum.model.QuestionDetails;
+import com.example.demo.forum.model.QuestionsResponse;
+import com.example.demo.forum.model.ReplyDetails;
+import com.example.demo.forum.persistence.QuestionsEntity;
+import com.example.demo.forum.persistence.RepliesEntity;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collections;
+import java.util.Optional;
+import java.util.function.Function;
+
+import static com.example.demo.forum.delegates.QuestionsRequestValidator.validateInputRequest;
+import static com.example.demo.forum.delegates.QuestionsRequestValidator.validatePageSize;
+
+/**
+ * Non blocking implementation of addQuestion, createReply, getListOfQuestions and getQuestionDetails served in the
+ * {@code reactive} profile. Requests are validated by the same rules and fail with the same error codes as in
+ * {@link com.example.demo.forum.delegates.QuestionControllerDelegate}, errors are rendered by
+ * {@link ReactiveQuestionsExceptionHandler}.
+ *
+ * @author Sathish Pendem
+ */
+@Component
+@Profile("reactive")
+public class ReactiveQuestionsHandler {
+
+    private final ReactiveQuestionsRepository repository;
+    private final TransactionalOperator transactionalOperator;
+
+    public ReactiveQuestionsHandler(ReactiveQuestionsRepository repository, TransactionalOperator reactiveTransactionalOperator) {
+        this.repository = repository;
+        this.transactionalOperator = reactiveTransactionalOperator;
+    }
+
+    /**
+     * addQuestion: creates a new question from the request body.
+     *
+     * @param request with a {@link PostQuestionReplyBody} body.
+     * @return {@link QuestionDetails} of the new question.
+     */
+    public Mono<ServerResponse> addQuestion(ServerRequest request) {
+        return readBody(request)
+                .flatMap(body -> repository.insert(QuestionsEntity.builder()
+                                .author(body.getAuthor())
+                                .message(body.getMessage())
+                                .build())
+                        .onErrorMap(ex -> !(ex instanceof QuestionsApiException),
+                                ex -> new QuestionsApiException("Exception occurred while saving Question to Database.", ex, "ERROR003", HttpStatus.UNPROCESSABLE_ENTITY)))
+                .flatMap(question -> ServerResponse.ok().bodyValue(QuestionDetails.builder()
+                        .author(question.getAuthor())
+                        .id(question.getId())
+                        .message(question.getMessage())
+                        .replies(0L)
+                        .build()));
+    }
+
+    /**
+     * createReply: adds a reply to the question. As in the servlet variant the reply count increment doubles as the
+     * existence check and both statements run in one transaction.
+     *
+     * @param request with the questionId path variable and a {@link PostQuestionReplyBody} body.
+     * @return {@link PostReplyResponse} of the new reply.
+     */
+    public Mono<ServerResponse> createReply(ServerRequest request) {
+        Long questionId = pathVariable(request, "questionId");
+        return readBody(request)
+                .flatMap(body -> repository.incrementReplyCount(questionId, 1L)
+                        .flatMap(updated -> updated == 0  // No row updated: question does not exist.
+                                ? Mono.<RepliesEntity>error(new QuestionsApiException("Question Not Found.", null, "ERROR002", HttpStatus.NOT_FOUND))
+                                : repository.insert(RepliesEntity.builder()
+                                        .author(body.getAuthor())
+                                        .message(body.getMessage())
+                                        .questionId(questionId)
+                                        .build()))
+                        .as(transactionalOperator::transactional)
+                        .onErrorMap(DataIntegrityViolationException.class,
+                                ex -> new QuestionsApiException("Question Not Found.", ex, "ERROR002", HttpStatus.NOT_FOUND))
+                        .onErrorMap(ex -> !(ex instanceof QuestionsApiException),
+                                ex -> new QuestionsApiException("R2DBC exception while saving reply", ex, "ERROR001", HttpStatus.NOT_FOUND)))
+                .flatMap(reply -> ServerResponse.ok().bodyValue(PostReplyResponse.builder()
+                        .author(reply.getAuthor())
+                        .id(reply.getId())
+                        .message(reply.getMessage())
+                        .questionId(reply.getQuestionId())
+                        .build()));
+    }
+
+    /**
+     * getListOfQuestions: streams a page of questions as they are read from the DB, nothing is collected in memory.
+     * The body is a JSON array, or newline delimited JSON when requested with {@code Accept: application/x-ndjson}.
+     * There is no nextCursor: the id of the last question is the after parameter of the next page and a page shorter
+     * than the limit is the last one.
+     *
+     * @param request with the optional after and limit query parameters.
+     * @return stream of {@link QuestionDetails} ordered by question id.
+     */
+    public Mono<ServerResponse> getListOfQuestions(ServerRequest request) {
+        int pageSize = validatePageSize(queryParam(request, "limit", Integer::valueOf), 1);
+        Long after = Optional.ofNullable(queryParam(request, "after", Long::valueOf)).orElse(0L);
+        Flux<QuestionDetails> questions = repository.findQuestionSummaries(after, pageSize)
+                .map(summary -> QuestionDetails.builder()
+                        .message(summary.getMessage())
+                        .id(summary.getId())
+                        .author(summary.getAuthor())
+                        .replies(summary.getReplyCount())
+                        .build())
+                .onErrorMap(ex -> new QuestionsApiException("Exception occurred while reading Questions from Database.", ex, "ERROR0034", HttpStatus.UNPROCESSABLE_ENTITY));
+        MediaType contentType = request.headers().accept().contains(MediaType.APPLICATION_NDJSON)
+                ? MediaType.APPLICATION_NDJSON
+                : MediaType.APPLICATION_JSON;
+        return ServerResponse.ok().contentType(contentType).body(questions, QuestionDetails.class);
+    }
+
+    /**
+     * getQuestionDetails: reads the question and a page of its replies.
+     *
+     * @param request with the questionId path variable and the optional after and limit query parameters,
+     *                limit 0 reads only the question.
+     * @return {@link QuestionsResponse} of the question requested.
+     */
+    public Mono<ServerResponse> getQuestionDetails(ServerRequest request) {
+        Long questionId = pathVariable(request, "questionId");
+        int pageSize = validatePageSize(queryParam(request, "limit", Integer::valueOf), 0);
+        Long after = Optional.ofNullable(queryParam(request, "after", Long::valueOf)).orElse(0L);
+        return repository.findById(questionId)
+                .switchIfEmpty(Mono.error(() -> new QuestionsApiException("Question Not Found.", null, "ERROR006", HttpStatus.NOT_FOUND)))
+                // Read one extra reply to find out whether a next page exists.
+                .zipWhen(question -> pageSize == 0
+                        ? Mono.just(Collections.<ReplyDetails>emptyList())
+                        : repository.findByQuestionIdAndIdGreaterThanOrderByIdAsc(questionId, after, pageSize + 1)
+                        .map(reply -> ReplyDetails.builder()
+                                .author(reply.getAuthor())
+                                .message(reply.getMessage())
+                                .id(reply.getId())
+                                .build())
+                        .collectList())
+                .onErrorMap(ex -> !(ex instanceof QuestionsApiException),
+                        ex -> new QuestionsApiException("Exception occurred while reading question details.", ex, "ERROR007", HttpStatus.NOT_FOUND))
+                .flatMap(questionAndReplies -> {
+                    QuestionsEntity question = questionAndReplies.getT1();
+                    boolean hasNextPage = questionAndReplies.getT2().size() > pageSize;
+                    return ServerResponse.ok().bodyValue(QuestionsResponse.builder()
+                            .author(question.getAuthor())
+                            .id(question.getId())
+                            .message(question.getMessage())
+                            .replies(hasNextPage ? questionAndReplies.getT2().subList(0, pageSize) : questionAndReplies.getT2())
+                            .nextCursor(hasNextPage ? questionAndReplies.getT2().get(pageSize - 1).getId() : null)
+                            .build());
+                });
+    }
+
+    private Mono<PostQuestionReplyBody> readBody(ServerRequest request) {
+        return request.bodyToMono(PostQuestionReplyBody.class)
+                .switchIfEmpty(Mono.fromRunnable(() -> validateInputRequest(null)))
+                .doOnNext(body -> validateInputRequest(body));
+    }
+
+    private static Long pathVariable(ServerRequest request, String name) {
+        return parse(name, request.pathVariable(name), Long::valueOf);
+    }
+
+    private static <T> T queryParam(ServerRequest request, String name, Function<String, T> parser) {
+        return request.queryParam(name)
+                .map(value -> parse(name, value, parser))
+                .orElse(null);
+    }
+
+    private static <T> T parse(String name, String value, Function<String, T> parser) {
+        try {
+            return parser.apply(value);
+        } catch (NumberFormatException ex) {
+            throw new ServerWebInputException("Invalid value '" + value + "' of parameter " + name + ".");
+        }
+    }
+}
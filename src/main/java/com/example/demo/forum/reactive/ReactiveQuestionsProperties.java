@@ -0,0 +1,31 @@
+package com.example.demo.forum.reactive;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * R2DBC connection of the reactive variant of the api, bound from {@code forum.reactive}.
+ * It must point to the same database as the JDBC datasource, which still creates the schema.
+ *
+ * @author Sathish Pendem
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "forum.reactive")
+public class ReactiveQuestionsProperties {
+
+    /**
+     * R2DBC url of the database.
+     */
+    private String url;
+
+    private String username;
+
+    private String password;
+
+    /**
+     * Maximum number of pooled R2DBC connections.
+     */
+    private int maxPoolSize = 10;
+}
@@ -0,0 +1,193 @@
+package com.example.demo.forum.reactive;
+
+import com.example.demo.forum.persistence.QuestionSummary;
+import com.example.demo.forum.persistence.QuestionsEntity;
+import com.example.demo.forum.persistence.QuestionsIdGenerator;
+import com.example.demo.forum.persistence.RepliesEntity;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non blocking counterpart of {@link com.example.demo.forum.persistence.QuestionsRepository} over R2DBC.
+ * Reads and writes the tables mapped by {@link QuestionsEntity} and {@link RepliesEntity}, rows are emitted as they
+ * are read from the DB.
+ * Ids are reserved from the same sequence and with the same pooled-lo block size as {@link QuestionsIdGenerator},
+ * so posts created through JPA and R2DBC never share an id.
+ *
+ * @author Sathish Pendem
+ */
+@Component
+@Profile("reactive")
+public class ReactiveQuestionsRepository {
+
+    private static final String QUESTION_COLUMNS = "id, author, message, reply_count";
+    private static final String REPLY_COLUMNS = "id, author, message, question_id";
+
+    private final DatabaseClient client;
+    private final int allocationSize;
+
+    private final Object idLock = new Object();
+    private long nextId;
+    private long lastId = -1;
+
+    public ReactiveQuestionsRepository(DatabaseClient client,
+                                       @Value("${spring.jpa.properties." + QuestionsIdGenerator.ALLOCATION_SIZE + ":"
+                                               + QuestionsIdGenerator.DEFAULT_ALLOCATION_SIZE + "}") int allocationSize) {
+        this.client = client;
+        this.allocationSize = allocationSize;
+    }
+
+    /**
+     * Reads a page of questions together with their reply count (keyset pagination).
+     *
+     * @param after only questions with an id greater than this value are returned.
+     * @param limit maximum number of questions to return.
+     * @return {@link QuestionSummary} ordered by question id.
+     */
+    public Flux<QuestionSummary> findQuestionSummaries(Long after, int limit) {
+        return client.sql("SELECT " + QUESTION_COLUMNS + " FROM questions_entity WHERE id > :after ORDER BY id LIMIT :limit")
+                .bind("after", after)
+                .bind("limit", limit)
+                .map(row -> new QuestionSummary(
+                        row.get("id", Long.class),
+                        row.get("author", String.class),
+                        row.get("message", String.class),
+                        row.get("reply_count", Long.class)))
+                .all();
+    }
+
+    /**
+     * Reads a page of replies of a question ordered by reply id (keyset pagination).
+     *
+     * @param questionId question for which the replies are read.
+     * @param after      only replies with an id greater than this value are returned.
+     * @param limit      maximum number of replies to return.
+     * @return reply entities ordered by id.
+     */
+    public Flux<RepliesEntity> findByQuestionIdAndIdGreaterThanOrderByIdAsc(Long questionId, Long after, int limit) {
+        return client.sql("SELECT " + REPLY_COLUMNS + " FROM replies_entity " +
+                        "WHERE question_id = :questionId AND id > :after ORDER BY id LIMIT :limit")
+                .bind("questionId", questionId)
+                .bind("after", after)
+                .bind("limit", limit)
+                .map(this::toReply)
+                .all();
+    }
+
+    /**
+     * @param id of the question.
+     * @return the question, empty if it does not exist.
+     */
+    public Mono<QuestionsEntity> findById(Long id) {
+        return client.sql("SELECT " + QUESTION_COLUMNS + " FROM questions_entity WHERE id = :id")
+                .bind("id", id)
+                .map(this::toQuestion)
+                .one();
+    }
+
+    /**
+     * Atomically increments the reply count and the version of a question with a single update statement.
+     *
+     * @param questionId question to which replies were added.
+     * @param replies    number of replies added.
+     * @return number of rows updated, 0 if the question does not exist.
+     */
+    public Mono<Long> incrementReplyCount(Long questionId, Long replies) {
+        return client.sql("UPDATE questions_entity SET reply_count = reply_count + :replies, version = version + 1 WHERE id = :questionId")
+                .bind("replies", replies)
+                .bind("questionId", questionId)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * Inserts a new question with the next reserved id.
+     *
+     * @param question validated question to insert, its id is ignored.
+     * @return the inserted question with its id.
+     */
+    public Mono<QuestionsEntity> insert(QuestionsEntity question) {
+        return nextId().flatMap(id -> client.sql("INSERT INTO questions_entity (" + QUESTION_COLUMNS + ") " +
+                        "VALUES (:id, :author, :message, 0)")
+                .bind("id", id)
+                .bind("author", question.getAuthor())
+                .bind("message", question.getMessage())
+                .fetch()
+                .rowsUpdated()
+                .thenReturn(QuestionsEntity.builder()
+                        .id(id)
+                        .author(question.getAuthor())
+                        .message(question.getMessage())
+                        .build()));
+    }
+
+    /**
+     * Inserts a new reply with the next reserved id.
+     *
+     * @param reply validated reply to insert, its id is ignored.
+     * @return the inserted reply with its id.
+     */
+    public Mono<RepliesEntity> insert(RepliesEntity reply) {
+        return nextId().flatMap(id -> client.sql("INSERT INTO replies_entity (" + REPLY_COLUMNS + ") " +
+                        "VALUES (:id, :author, :message, :questionId)")
+                .bind("id", id)
+                .bind("author", reply.getAuthor())
+                .bind("message", reply.getMessage())
+                .bind("questionId", reply.getQuestionId())
+                .fetch()
+                .rowsUpdated()
+                .thenReturn(RepliesEntity.builder()
+                        .id(id)
+                        .author(reply.getAuthor())
+                        .message(reply.getMessage())
+                        .questionId(reply.getQuestionId())
+                        .build()));
+    }
+
+    /**
+     * Hands out the ids of the current block and reads a new block from the sequence once it is used up.
+     * Concurrent requests finding the block used up each read a block, only the last one read is kept.
+     */
+    Mono<Long> nextId() {
+        return Mono.defer(() -> {
+            synchronized (idLock) {
+                if (nextId <= lastId) {
+                    return Mono.just(nextId++);
+                }
+            }
+            return client.sql("SELECT NEXT VALUE FOR " + QuestionsIdGenerator.SEQUENCE_NAME)
+                    .map(row -> row.get(0, Long.class))
+                    .one()
+                    .map(first -> {
+                        synchronized (idLock) {
+                            nextId = first + 1;
+                            lastId = first + allocationSize - 1;
+                        }
+                        return first;
+                    });
+        });
+    }
+
+    private QuestionsEntity toQuestion(Readable row) {
+        return QuestionsEntity.builder()
+                .id(row.get("id", Long.class))
+                .author(row.get("author", String.class))
+                .message(row.get("message", String.class))
+                .replyCount(row.get("reply_count", Long.class))
+                .build();
+    }
+
+    private RepliesEntity toReply(Readable row) {
+        return RepliesEntity.builder()
+                .id(row.get("id", Long.class))
+                .author(row.get("author", String.class))
+                .message(row.get("message", String.class))
+                .questionId(row.get("question_id", Long.class))
+                .build();
+    }
+}
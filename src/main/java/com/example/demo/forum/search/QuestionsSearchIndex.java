@@ -0,0 +1,180 @@
+package com.example.demo.forum.search;
+
+import com.example.demo.forum.persistence.PostEntity;
+import com.example.demo.forum.persistence.QuestionsRepository;
+import com.example.demo.forum.persistence.RepliesRepository;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * In memory inverted index over the author and message of every question and reply.
+ * Posts are added as they are created and the index is rebuilt from the DB when the application starts.
+ * Only post ids and term frequencies are kept, matches are ranked with BM25.
+ *
+ * @author Sathish Pendem
+ */
+@Component
+@RequiredArgsConstructor
+public class QuestionsSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(QuestionsSearchIndex.class);
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final QuestionsRepository repository;
+    private final RepliesRepository repliesRepository;
+    private final EntityManager entityManager;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    private final Map<Long, Integer> postLengths = new HashMap<>();
+    private long totalLength;
+
+    /**
+     * Adds the post to the index. Inside a transaction the post is only added once the transaction has committed.
+     *
+     * @param post question or reply to add, posts already in the index are ignored.
+     */
+    public void index(PostEntity post) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    add(post.getId(), post.getAuthor(), post.getMessage());
+                }
+            });
+        } else {
+            add(post.getId(), post.getAuthor(), post.getMessage());
+        }
+    }
+
+    /**
+     * Indexes every post in the DB. Posts are read through a database cursor and detached once indexed.
+     * Posts created while the index is rebuilt are indexed as usual.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        try (Stream<? extends PostEntity> questions = repository.streamAllByOrderByIdAsc();
+             Stream<? extends PostEntity> replies = repliesRepository.streamAllByOrderByIdAsc()) {
+            Stream.concat(questions, replies).forEach(post -> {
+                add(post.getId(), post.getAuthor(), post.getMessage());
+                entityManager.detach(post);
+            });
+        }
+        log.info("Indexed {} posts for search in {} ms.", size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Finds the posts matching any term of the query.
+     *
+     * @param query text to search for in authors and messages.
+     * @param limit maximum number of matches to return.
+     * @return matches ordered by descending BM25 score.
+     */
+    public List<Match> search(String query, int limit) {
+        Set<String> terms = new HashSet<>(tokenize(query));
+        Map<Long, Double> scores = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            int posts = postLengths.size();
+            double averageLength = posts == 0 ? 0 : (double) totalLength / posts;
+            for (String term : terms) {
+                Map<Long, Integer> frequencies = postings.getOrDefault(term, Collections.emptyMap());
+                double idf = Math.log(1 + (posts - frequencies.size() + 0.5) / (frequencies.size() + 0.5));
+                frequencies.forEach((id, frequency) -> {
+                    double norm = K1 * (1 - B + B * postLengths.get(id) / averageLength);
+                    scores.merge(id, idf * frequency * (K1 + 1) / (frequency + norm), Double::sum);
+                });
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        // Keep the best matches only instead of sorting every match.
+        Comparator<Match> byScore = Comparator.comparingDouble(Match::getScore).thenComparing(Match::getId, Comparator.reverseOrder());
+        PriorityQueue<Match> best = new PriorityQueue<>(limit + 1, byScore);
+        scores.forEach((id, score) -> {
+            best.add(new Match(id, score));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        });
+        List<Match> matches = new ArrayList<>(best);
+        matches.sort(byScore.reversed());
+        return matches;
+    }
+
+    /**
+     * @return number of posts in the index.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return postLengths.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add(Long id, String author, String message) {
+        List<String> tokens = new ArrayList<>(tokenize(author));
+        tokens.addAll(tokenize(message));
+        lock.writeLock().lock();
+        try {
+            if (postLengths.putIfAbsent(id, tokens.size()) != null) {
+                return;
+            }
+            totalLength += tokens.size();
+            tokens.forEach(token -> postings.computeIfAbsent(token, term -> new HashMap<>()).merge(id, 1, Integer::sum));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null) {
+            return Collections.emptyList();
+        }
+        return Arrays.stream(TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT)))
+                .filter(token -> !token.isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Post matching a query with its relevance score.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class Match {
+        private final Long id;
+        private final double score;
+    }
+}
@@ -0,0 +1,293 @@
+package com.example.demo.forum.stream;
+
+import com.example.demo.forum.model.ReplyDetails;
+import com.example.demo.forum.persistence.RepliesEntity;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Metrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Fan-out of new replies to the Server-Sent Events streams of their question.
+ * A subscriber is an async {@link SseEmitter} with a bounded buffer of events, no thread is held while it is idle.
+ * A committed reply is serialized once and queued to every subscriber of its question, a small pool of dispatcher
+ * threads drains the buffers and writes the events. A subscriber whose buffer is full is evicted, its stream is
+ * completed so the client reconnects and reads the replies it missed with getReplies. Idle streams get a heartbeat
+ * comment every heartbeatInterval so closed connections are detected and removed. A subscriber whose write has not
+ * returned after sendTimeout is evicted too and its dispatcher thread interrupted, so a stalled client cannot hold it.
+ *
+ * @author Sathish Pendem
+ */
+@Component
+@EnableConfigurationProperties(ReplyStreamProperties.class)
+public class RepliesStreamHub {
+
+    static final String REPLY_EVENT = "reply";
+    static final String SUBSCRIBERS_METRIC = "questions.reply_stream.subscribers";
+    static final String SENT_METRIC = "questions.reply_stream.sent";
+    static final String EVICTED_METRIC = "questions.reply_stream.evicted";
+
+    private static final Logger log = LoggerFactory.getLogger(RepliesStreamHub.class);
+
+    private final ReplyStreamProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final ExecutorService dispatcher;
+    private final ScheduledExecutorService heartbeat;
+    private final Set<DataWithMediaType> subscribedEvent = SseEmitter.event().comment("subscribed").build();
+    private final Set<DataWithMediaType> heartbeatEvent = SseEmitter.event().comment("heartbeat").build();
+
+    public RepliesStreamHub(ReplyStreamProperties properties, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.dispatcher = Executors.newFixedThreadPool(properties.getDispatcherThreads(),
+                new CustomizableThreadFactory("reply-stream-"));
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("reply-stream-heartbeat-"));
+        long interval = properties.getHeartbeatInterval().toMillis();
+        heartbeat.scheduleWithFixedDelay(this::sendHeartbeats, interval, interval, TimeUnit.MILLISECONDS);
+        long sendCheck = properties.getSendTimeout().toMillis() / 2;
+        heartbeat.scheduleWithFixedDelay(this::evictStalled, sendCheck, sendCheck, TimeUnit.MILLISECONDS);
+        Metrics.gauge(SUBSCRIBERS_METRIC, this, RepliesStreamHub::subscriberCount);
+    }
+
+    /**
+     * Opens a stream of the replies to the question committed from now on.
+     *
+     * @param questionId id of the question to listen to, its existence is checked by the caller.
+     * @return emitter sending one {@value #REPLY_EVENT} event per reply, with the reply id as event id.
+     */
+    public SseEmitter subscribe(Long questionId) {
+        return subscribe(questionId, new SseEmitter(properties.getTimeout().toMillis()));
+    }
+
+    /**
+     * Registers the emitter as a subscriber of the question, see {@link #subscribe(Long)}.
+     */
+    SseEmitter subscribe(Long questionId, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(questionId, emitter);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> {
+            remove(subscriber);
+            emitter.complete();  // Ends the stream normally instead of failing the request with AsyncRequestTimeoutException.
+        });
+        emitter.onError(ex -> remove(subscriber));
+        subscribers.computeIfAbsent(questionId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        subscriber.offer(subscribedEvent);  // Sends the response headers right away.
+        return emitter;
+    }
+
+    /**
+     * @return number of open streams.
+     */
+    int subscriberCount() {
+        return subscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    /**
+     * Sends the reply to the subscribers of its question. Inside a transaction the reply is only sent once the
+     * transaction has committed.
+     *
+     * @param reply reply saved, with its id set.
+     */
+    public void publish(RepliesEntity reply) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    send(reply);
+                }
+            });
+        } else {
+            send(reply);
+        }
+    }
+
+    private void send(RepliesEntity reply) {
+        Set<Subscriber> listeners = subscribers.get(reply.getQuestionId());
+        if (listeners == null || listeners.isEmpty()) {
+            return;
+        }
+        Set<DataWithMediaType> event;
+        try {
+            event = SseEmitter.event()
+                    .id(String.valueOf(reply.getId()))
+                    .name(REPLY_EVENT)
+                    .data(objectMapper.writeValueAsString(new ReplyDetails(reply.getId(), reply.getAuthor(), reply.getMessage())))
+                    .build();
+        } catch (JsonProcessingException ex) {
+            log.error("Failed to serialize reply {} for its stream.", reply.getId(), ex);
+            return;
+        }
+        for (Subscriber subscriber : listeners) {
+            if (!subscriber.offer(event)) {
+                Metrics.counter(EVICTED_METRIC).increment();
+                remove(subscriber);
+                subscriber.emitter.complete();
+            }
+        }
+    }
+
+    private void sendHeartbeats() {
+        subscribers.values().forEach(listeners -> listeners.stream()
+                .filter(Subscriber::isIdle)
+                .forEach(subscriber -> subscriber.offer(heartbeatEvent)));
+    }
+
+    /**
+     * Evicts the subscribers whose write has been in flight for longer than sendTimeout. Their stream is completed by
+     * the dispatcher thread once the interrupted write returns, the emitter is locked while it is sending.
+     */
+    private void evictStalled() {
+        long sendTimeout = properties.getSendTimeout().toNanos();
+        subscribers.values().forEach(listeners -> listeners.stream()
+                .filter(subscriber -> subscriber.isStalled(sendTimeout))
+                .forEach(subscriber -> {
+                    Metrics.counter(EVICTED_METRIC).increment();
+                    remove(subscriber);
+                    subscriber.abort();
+                }));
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.questionId, (id, listeners) -> {
+            listeners.remove(subscriber);
+            return listeners.isEmpty() ? null : listeners;
+        });
+    }
+
+    /**
+     * Completes every stream, clients reconnect to another instance.
+     */
+    @PreDestroy
+    public void stop() {
+        heartbeat.shutdownNow();
+        dispatcher.shutdownNow();
+        subscribers.values().forEach(listeners -> listeners.forEach(subscriber -> subscriber.emitter.complete()));
+        subscribers.clear();
+    }
+
+    /**
+     * Stream of one client: events waiting to be sent, whether a dispatcher thread is draining them and
+     * the thread writing an event and since when.
+     */
+    private class Subscriber {
+
+        private final Long questionId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<DataWithMediaType>> buffer;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile boolean evicted;
+        private Thread sender;
+        private long sendingSince;
+
+        Subscriber(Long questionId, SseEmitter emitter) {
+            this.questionId = questionId;
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(properties.getBufferSize());
+        }
+
+        boolean isIdle() {
+            return buffer.isEmpty() && !scheduled.get();
+        }
+
+        /**
+         * Queues the event and schedules the buffer to be drained.
+         *
+         * @return false if the buffer is full.
+         */
+        boolean offer(Set<DataWithMediaType> event) {
+            if (!buffer.offer(event)) {
+                return false;
+            }
+            schedule();
+            return true;
+        }
+
+        synchronized boolean isStalled(long sendTimeout) {
+            return sender != null && System.nanoTime() - sendingSince > sendTimeout;
+        }
+
+        /**
+         * Stops draining and interrupts the write in flight.
+         */
+        synchronized void abort() {
+            evicted = true;
+            buffer.clear();
+            if (sender != null) {
+                sender.interrupt();
+            }
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    dispatcher.execute(this::drain);
+                } catch (RejectedExecutionException ex) {
+                    scheduled.set(false);  // Shutting down, the stream is completed by stop.
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                Set<DataWithMediaType> event;
+                while (!evicted && (event = buffer.poll()) != null) {
+                    send(event);
+                    if (event != subscribedEvent && event != heartbeatEvent) {
+                        Metrics.counter(SENT_METRIC).increment();
+                    }
+                }
+                if (evicted) {
+                    emitter.complete();
+                }
+            } catch (IOException | IllegalStateException ex) {
+                // Connection closed, stream already completed or write interrupted by evictStalled.
+                remove(this);
+                buffer.clear();
+                emitter.completeWithError(ex);
+            } finally {
+                Thread.interrupted();  // Clears an interrupt of abort which arrived after the write returned.
+                scheduled.set(false);
+            }
+            if (!evicted && !buffer.isEmpty()) {
+                schedule();  // Events queued after the last poll and before scheduled was reset.
+            }
+        }
+
+        private void send(Set<DataWithMediaType> event) throws IOException {
+            synchronized (this) {
+                sender = Thread.currentThread();
+                sendingSince = System.nanoTime();
+            }
+            try {
+                emitter.send(event);
+            } finally {
+                synchronized (this) {
+                    sender = null;
+                }
+            }
+        }
+    }
+}
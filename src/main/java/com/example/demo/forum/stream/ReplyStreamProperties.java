@@ -0,0 +1,43 @@
+package com.example.demo.forum.stream;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the Server-Sent Events stream of new replies, bound from {@code forum.reply-stream}.
+ *
+ * @author Sathish Pendem
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "forum.reply-stream")
+public class ReplyStreamProperties {
+
+    /**
+     * Maximum number of events waiting to be sent to one subscriber, a subscriber falling further behind is evicted.
+     */
+    private int bufferSize = 64;
+
+    /**
+     * Number of threads sending events to all subscribers.
+     */
+    private int dispatcherThreads = 4;
+
+    /**
+     * Time after which a stream is closed, clients reconnect to keep listening.
+     */
+    private Duration timeout = Duration.ofMinutes(30);
+
+    /**
+     * Interval of the comments sent to idle subscribers to keep the connection open and detect closed connections.
+     */
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+
+    /**
+     * Maximum time a write to one subscriber may take, a subscriber whose write takes longer is evicted.
+     */
+    private Duration sendTimeout = Duration.ofSeconds(10);
+}
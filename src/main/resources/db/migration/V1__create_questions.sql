@@ -0,0 +1,18 @@
+-- Schema of the questions table before replies moved to their own table. Databases created by ddl-auto before
+-- migrations were introduced already have the table without reply_count, they are baselined at version 0.
+CREATE TABLE IF NOT EXISTS questions_entity (
+    id                 BIGINT       NOT NULL,
+    author             VARCHAR(255),
+    message            VARCHAR(255),
+    parent_question_id BIGINT,
+    reply_count        BIGINT       DEFAULT 0 NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_questions_entity_parent FOREIGN KEY (parent_question_id) REFERENCES questions_entity (id)
+);
+
+ALTER TABLE questions_entity ADD COLUMN IF NOT EXISTS reply_count BIGINT DEFAULT 0 NOT NULL;
+
+-- ddl-auto took ids from hibernate_sequence, new ids continue after the existing posts.
+CREATE SEQUENCE questions_sequence START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE questions_sequence RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM questions_entity);
+DROP SEQUENCE IF EXISTS hibernate_sequence;
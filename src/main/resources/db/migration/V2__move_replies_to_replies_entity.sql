@@ -0,0 +1,30 @@
+-- Replies move from questions_entity (rows with a parent_question_id) to their own table.
+CREATE TABLE replies_entity (
+    id          BIGINT       NOT NULL,
+    author      VARCHAR(255),
+    message     VARCHAR(255),
+    question_id BIGINT       NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_replies_entity_question FOREIGN KEY (question_id) REFERENCES questions_entity (id)
+);
+
+-- Replies of a question are read ordered by id: getQuestionDetails, getReplies.
+CREATE INDEX idx_replies_entity_question_id ON replies_entity (question_id, id);
+
+-- Ids are kept, replies to replies are attached to the question their thread starts from.
+INSERT INTO replies_entity (id, author, message, question_id)
+WITH RECURSIVE thread (id, question_id) AS (
+    SELECT id, id FROM questions_entity WHERE parent_question_id IS NULL
+    UNION ALL
+    SELECT post.id, thread.question_id FROM questions_entity post JOIN thread ON post.parent_question_id = thread.id
+)
+SELECT post.id, post.author, post.message, thread.question_id
+FROM questions_entity post JOIN thread ON thread.id = post.id
+WHERE post.parent_question_id IS NOT NULL;
+
+-- Also drops the self referencing foreign key, whatever name ddl-auto gave it.
+ALTER TABLE questions_entity DROP COLUMN parent_question_id;
+
+DELETE FROM questions_entity WHERE id IN (SELECT id FROM replies_entity);
+
+UPDATE questions_entity q SET reply_count = (SELECT COUNT(*) FROM replies_entity r WHERE r.question_id = q.id);
@@ -0,0 +1,2 @@
+-- Version of a question, incremented with every reply added. Strong ETag of getQuestionDetails.
+ALTER TABLE questions_entity ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
@@ -40,7 +40,7 @@ public class QuestionsApiExceptionHandlerTest {
      */
     @Test
     public void testHandler_whenQuestionsApiExceptionIsThrown_receivesErrorResponse() throws Exception {
-        when(delegate.getQuestionDetails(2l)).thenThrow(
+        when(delegate.getQuestionDetails(2l, null, null)).thenThrow(
                 new QuestionsApiException("Sample error", null, "ERROR0001", HttpStatus.UNPROCESSABLE_ENTITY)
         );
         mvc.perform(MockMvcRequestBuilders.get("/questions/2")
@@ -57,7 +57,7 @@ public class QuestionsApiExceptionHandlerTest {
      */
     @Test
     public void testHandler_whenUnknownExceptionIsThrown_receivesErrorResponse() throws Exception {
-        when(delegate.getQuestionDetails(2l)).thenThrow(
+        when(delegate.getQuestionDetails(2l, null, null)).thenThrow(
                 new RuntimeException("Unknown Exception.")
         );
         mvc.perform(MockMvcRequestBuilders.get("/questions/2")
@@ -1,24 +1,56 @@
 package com.example.demo.forum.api;
 
 
+import com.example.demo.forum.delegates.QuestionControllerDelegate;
+import com.example.demo.forum.delegates.QuestionsRequestValidator;
 import com.example.demo.forum.exceptions.QuestionsApiErrorResponse;
+import com.example.demo.forum.model.BulkPostResult;
+import com.example.demo.forum.model.BulkReplyBody;
+import com.example.demo.forum.model.PostDetails;
 import com.example.demo.forum.model.PostQuestionReplyBody;
 import com.example.demo.forum.model.PostReplyResponse;
 import com.example.demo.forum.model.QuestionDetails;
+import com.example.demo.forum.model.QuestionResult;
+import com.example.demo.forum.model.QuestionsListResponse;
 import com.example.demo.forum.model.QuestionsResponse;
+import com.example.demo.forum.model.RepliesListResponse;
+import com.example.demo.forum.model.ReplyDetails;
+import com.example.demo.forum.model.SearchHit;
+import com.example.demo.forum.model.SearchResponse;
+import com.example.demo.forum.monitoring.StatementBudgetGuard;
+import com.example.demo.forum.monitoring.StatementBudgetProperties;
 import com.example.demo.forum.persistence.QuestionsEntity;
 import com.example.demo.forum.persistence.QuestionsRepository;
+import com.example.demo.forum.persistence.RepliesEntity;
+import com.example.demo.forum.persistence.RepliesRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.*;
 import org.springframework.test.context.junit4.SpringRunner;
 
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -30,6 +62,7 @@ import static org.assertj.core.api.Assertions.assertThat;
  */
 @RunWith(SpringRunner.class)
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability  // metrics export, including the prometheus endpoint, is disabled in tests by default
 public class QuestionsApiControllerTest {
 
     @Autowired
@@ -37,6 +70,14 @@ public class QuestionsApiControllerTest {
     private HttpHeaders headers = new HttpHeaders();
     @Autowired
     private QuestionsRepository repository;
+    @Autowired
+    private RepliesRepository repliesRepository;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private StatementBudgetProperties statementBudget;
     private QuestionsEntity sampleQuestion;
 
     /**
@@ -71,6 +112,7 @@ public class QuestionsApiControllerTest {
         assertThat(response.getBody()).isNotNull();
         assertThat(response.getBody().getId()).isGreaterThan(1l);
         assertThat(response.getBody().getAuthor()).isEqualTo("sathish");
+        assertWithinStatementBudget("addQuestion", response);
     }
 
     /**
@@ -114,6 +156,7 @@ public class QuestionsApiControllerTest {
         assertThat(response.getBody().getAuthor()).isEqualTo("sathish");
         assertThat(response.getBody().getMessage()).contains("test");
         assertThat(response.getBody().getQuestionId()).isEqualTo(sampleQuestion.getId());
+        assertWithinStatementBudget("createReply", response);
     }
 
     /**
@@ -139,7 +182,7 @@ public class QuestionsApiControllerTest {
     }
 
     /**
-     * Test getQuestions to receive all questions saved in DB.
+     * Test getQuestions to receive the first page of questions saved in DB.
      *
      * @result Returns a list of questions saved in DB.
      */
@@ -147,14 +190,56 @@ public class QuestionsApiControllerTest {
     public void getListOfQuestions_whenInputIsValid_ReturnsQuestionsList() {
         HttpEntity<?> entity = new HttpEntity<>(null,
                 headers);
-        ResponseEntity<List<QuestionDetails>> response = restTemplate.exchange(
+        ResponseEntity<QuestionsListResponse> response = restTemplate.exchange(
                 "/questions/",
-                HttpMethod.GET, entity, new ParameterizedTypeReference<List<QuestionDetails>>() {
-                });
+                HttpMethod.GET, entity, QuestionsListResponse.class);
         assertThat(response.getStatusCode().value()).isEqualTo(200);
         assertThat(response.getBody()).isNotNull();
-        assertThat(response.getBody().size()).isGreaterThan(0);
-        assertThat(response.getBody().get(0)).isNotNull();
+        assertThat(response.getBody().getQuestions().size()).isGreaterThan(0);
+        assertThat(response.getBody().getQuestions().get(0)).isNotNull();
+        assertWithinStatementBudget("getListOfQuestions", response);
+    }
+
+    /**
+     * Test getQuestions to receive questions page by page using the cursor returned.
+     *
+     * @result Returns the questions created after the input cursor, one per page.
+     */
+    @Test
+    public void getListOfQuestions_whenCursorIsGiven_ReturnsNextPage() {
+        QuestionsEntity nextQuestion = repository.save(QuestionsEntity.builder()
+                .message("next message")
+                .author("test user")
+                .build());
+        HttpEntity<?> entity = new HttpEntity<>(null,
+                headers);
+        ResponseEntity<QuestionsListResponse> response = restTemplate.exchange(
+                "/questions?after=" + (sampleQuestion.getId() - 1) + "&limit=1",
+                HttpMethod.GET, entity, QuestionsListResponse.class);
+        assertThat(response.getStatusCode().value()).isEqualTo(200);
+        assertThat(response.getBody().getQuestions()).extracting(QuestionDetails::getId).containsExactly(sampleQuestion.getId());
+        assertThat(response.getBody().getNextCursor()).isEqualTo(sampleQuestion.getId());
+
+        response = restTemplate.exchange(
+                "/questions?after=" + response.getBody().getNextCursor() + "&limit=1",
+                HttpMethod.GET, entity, QuestionsListResponse.class);
+        assertThat(response.getBody().getQuestions()).extracting(QuestionDetails::getId).containsExactly(nextQuestion.getId());
+    }
+
+    /**
+     * Test getQuestions with a limit larger than allowed.
+     *
+     * @result Response contains a validation error.
+     */
+    @Test
+    public void getListOfQuestions_whenLimitIsTooLarge_ReturnsErrorResponse() {
+        HttpEntity<?> entity = new HttpEntity<>(null,
+                headers);
+        ResponseEntity<QuestionsApiErrorResponse> response = restTemplate.exchange(
+                "/questions?limit=100000",
+                HttpMethod.GET, entity, QuestionsApiErrorResponse.class);
+        assertThat(response.getStatusCode().is4xxClientError()).isTrue();
+        assertThat(response.getBody().getErrorCode()).isEqualTo("ERROR010");
     }
 
     /**
@@ -174,5 +259,373 @@ public class QuestionsApiControllerTest {
         assertThat(response.getBody().getReplies().size()).isGreaterThanOrEqualTo(0);
         assertThat(response.getBody().getId()).isEqualTo(sampleQuestion.getId());
         assertThat(response.getBody().getMessage()).isEqualTo(sampleQuestion.getMessage());
+        assertWithinStatementBudget("getQuestionDetails", response);
+    }
+
+    /**
+     * Request to get many questions by id, including an id which does not exist.
+     *
+     * @result Response contains a result per id in request order with a single statement.
+     */
+    @Test
+    public void getQuestions_whenSomeIdsAreNotFound_ReturnsResultPerId() {
+        HttpEntity<?> entity = new HttpEntity<>(null,
+                headers);
+        ResponseEntity<List<QuestionResult>> response = restTemplate.exchange(
+                "/questions/batch?ids=" + Long.MAX_VALUE + "," + sampleQuestion.getId(),
+                HttpMethod.GET, entity, new ParameterizedTypeReference<List<QuestionResult>>() {
+                });
+        assertThat(response.getStatusCode().value()).isEqualTo(200);
+        assertThat(response.getBody()).extracting(QuestionResult::getStatus).containsExactly(404, 200);
+        assertThat(response.getBody().get(0).getErrorCode()).isEqualTo("ERROR006");
+        assertThat(response.getBody().get(1).getQuestion().getId()).isEqualTo(sampleQuestion.getId());
+        assertThat(response.getBody().get(1).getQuestion().getMessage()).isEqualTo(sampleQuestion.getMessage());
+        assertWithinStatementBudget("getQuestions", response);
+    }
+
+    /**
+     * Request to get input question replies page by page.
+     *
+     * @result Response contains the replies after the input cursor.
+     */
+    @Test
+    public void getReplies_whenInputIsValid_ReturnsRepliesPage() {
+        RepliesEntity firstReply = repliesRepository.save(RepliesEntity.builder()
+                .message("first reply")
+                .author("test user")
+                .questionId(sampleQuestion.getId())
+                .build());
+        RepliesEntity secondReply = repliesRepository.save(RepliesEntity.builder()
+                .message("second reply")
+                .author("test user")
+                .questionId(sampleQuestion.getId())
+                .build());
+        HttpEntity<?> entity = new HttpEntity<>(null,
+                headers);
+        ResponseEntity<RepliesListResponse> response = restTemplate.exchange(
+                "/questions/" + sampleQuestion.getId() + "/replies?limit=1",
+                HttpMethod.GET, entity, RepliesListResponse.class);
+        assertThat(response.getStatusCode().value()).isEqualTo(200);
+        assertThat(response.getBody().getReplies()).extracting(ReplyDetails::getId).containsExactly(firstReply.getId());
+        assertThat(response.getBody().getNextCursor()).isEqualTo(firstReply.getId());
+
+        response = restTemplate.exchange(
+                "/questions/" + sampleQuestion.getId() + "/replies?limit=1&after=" + firstReply.getId(),
+                HttpMethod.GET, entity, RepliesListResponse.class);
+        assertThat(response.getBody().getReplies()).extracting(ReplyDetails::getId).containsExactly(secondReply.getId());
+        assertThat(response.getBody().getNextCursor()).isNull();
+        assertWithinStatementBudget("getReplies", response);
+    }
+
+    /**
+     * Request to get replies of a question that does not exist.
+     *
+     * @result Response contains a not found error.
+     */
+    @Test
+    public void getReplies_whenQuestionIsNotFound_ReturnsErrorResponse() {
+        HttpEntity<?> entity = new HttpEntity<>(null,
+                headers);
+        ResponseEntity<QuestionsApiErrorResponse> response = restTemplate.exchange(
+                "/questions/" + Long.MAX_VALUE + "/replies",
+                HttpMethod.GET, entity, QuestionsApiErrorResponse.class);
+        assertThat(response.getStatusCode().value()).isEqualTo(404);
+        assertThat(response.getBody().getErrorCode()).isEqualTo("ERROR006");
+    }
+
+    /**
+     * Request to export all posts as newline delimited JSON.
+     *
+     * @result Response contains one line per post including the sample question and its reply.
+     */
+    @Test
+    public void exportPosts_whenPostsExist_ReturnsOnePostPerLine() throws Exception {
+        RepliesEntity reply = repliesRepository.save(RepliesEntity.builder()
+                .message("exported reply")
+                .author("test user")
+                .questionId(sampleQuestion.getId())
+                .build());
+        ResponseEntity<String> response = restTemplate.getForEntity("/questions/export", String.class);
+        assertThat(response.getStatusCode().value()).isEqualTo(200);
+        assertThat(response.getHeaders().getContentType().toString()).isEqualTo("application/x-ndjson");
+
+        List<PostDetails> posts = new ArrayList<>();
+        for (String line : response.getBody().split("\n")) {
+            posts.add(objectMapper.readValue(line, PostDetails.class));
+        }
+        assertThat(posts.size()).isEqualTo(repository.count() + repliesRepository.count());
+        assertThat(posts).extracting(PostDetails::getId).contains(sampleQuestion.getId(), reply.getId());
+        assertThat(posts).filteredOn(post -> post.getId().equals(reply.getId()))
+                .extracting(PostDetails::getQuestionId).containsExactly(sampleQuestion.getId());
+    }
+
+    /**
+     * Open the reply stream of a question and add a reply to it.
+     *
+     * @result The new reply is pushed as a reply event with the reply id as event id.
+     */
+    @Test
+    public void streamReplies_whenReplyIsAdded_PushesReplyEvent() throws Exception {
+        HttpResponse<Stream<String>> stream = HttpClient.newHttpClient().send(HttpRequest.newBuilder(
+                        URI.create(restTemplate.getRootUri() + "/questions/" + sampleQuestion.getId() + "/replies/stream"))
+                .header(HttpHeaders.ACCEPT, MediaType.TEXT_EVENT_STREAM_VALUE)
+                .build(), HttpResponse.BodyHandlers.ofLines());
+        try (Stream<String> lines = stream.body()) {
+            assertThat(stream.statusCode()).isEqualTo(200);
+            Iterator<String> frames = lines.iterator();
+            assertThat(frames.next()).isEqualTo(":subscribed");  // Sent once the subscriber is registered.
+
+            ResponseEntity<PostReplyResponse> reply = restTemplate.exchange(
+                    "/questions/" + sampleQuestion.getId() + "/reply", HttpMethod.POST,
+                    new HttpEntity<>(PostQuestionReplyBody.builder().message("streamed reply").author("sathish").build(), headers),
+                    PostReplyResponse.class);
+            assertThat(reply.getStatusCode().value()).isEqualTo(200);
+
+            List<String> event = CompletableFuture.supplyAsync(() -> {
+                List<String> frame = new ArrayList<>();
+                while (frames.hasNext()) {
+                    String line = frames.next();
+                    if (!line.isEmpty()) {
+                        frame.add(line);
+                    } else if (frame.contains("event:reply")) {
+                        return frame;  // First reply event, comments are skipped.
+                    } else {
+                        frame.clear();
+                    }
+                }
+                return frame;
+            }).get(10, TimeUnit.SECONDS);
+            assertThat(event).contains("id:" + reply.getBody().getId(), "event:reply");
+            String data = event.stream().filter(line -> line.startsWith("data:")).findFirst().orElseThrow();
+            ReplyDetails pushed = objectMapper.readValue(data.substring("data:".length()), ReplyDetails.class);
+            assertThat(pushed.getId()).isEqualTo(reply.getBody().getId());
+            assertThat(pushed.getMessage()).isEqualTo("streamed reply");
+        }
+    }
+
+    /**
+     * Request question details repeatedly and add a reply in between.
+     *
+     * @result Repeated requests are served by the cache and the new reply evicts the cached question.
+     */
+    @Test
+    public void getQuestionDetails_whenRequestedAgain_ServedFromCacheUntilReplyIsAdded() {
+        HttpEntity<?> entity = new HttpEntity<>(null,
+                headers);
+        CacheStats initialStats = questionDetailsCacheStats();
+        restTemplate.exchange("/questions/" + sampleQuestion.getId(), HttpMethod.GET, entity, QuestionsResponse.class);
+        ResponseEntity<QuestionsResponse> response = restTemplate.exchange(
+                "/questions/" + sampleQuestion.getId(), HttpMethod.GET, entity, QuestionsResponse.class);
+        assertThat(response.getBody().getReplies()).isEmpty();
+        assertThat(questionDetailsCacheStats().minus(initialStats).missCount()).isEqualTo(1l);
+        assertThat(questionDetailsCacheStats().minus(initialStats).hitCount()).isEqualTo(1l);
+        assertThat(response.getHeaders().getFirst(StatementBudgetGuard.STATEMENT_COUNT_HEADER)).isEqualTo("0");
+
+        restTemplate.exchange("/questions/" + sampleQuestion.getId() + "/reply", HttpMethod.POST,
+                new HttpEntity<>(PostQuestionReplyBody.builder().message("new reply").author("sathish").build(), headers),
+                PostReplyResponse.class);
+        response = restTemplate.exchange(
+                "/questions/" + sampleQuestion.getId(), HttpMethod.GET, entity, QuestionsResponse.class);
+        assertThat(response.getBody().getReplies()).extracting(ReplyDetails::getMessage).containsExactly("new reply");
+        assertThat(questionDetailsCacheStats().minus(initialStats).missCount()).isEqualTo(2l);
+    }
+
+    /**
+     * Poll question details and the question list with the ETag of the previous response, add a reply in between.
+     *
+     * @result Unchanged resources are answered with 304 without reading replies, the reply changes both ETags.
+     */
+    @Test
+    public void conditionalGet_whenETagIsCurrent_ReturnsNotModifiedUntilReplyIsAdded() {
+        String detailsUrl = "/questions/" + sampleQuestion.getId() + "?limit=10";
+        ResponseEntity<QuestionsResponse> details = restTemplate.exchange(detailsUrl, HttpMethod.GET,
+                new HttpEntity<>(null, headers), QuestionsResponse.class);
+        String detailsETag = details.getHeaders().getETag();
+        assertThat(detailsETag).endsWith("." + sampleQuestion.getId() + ".0\"");
+        assertThat(details.getHeaders().getCacheControl()).isEqualTo("max-age=0, public, s-maxage=5");
+        ResponseEntity<QuestionsListResponse> list = restTemplate.exchange("/questions", HttpMethod.GET,
+                new HttpEntity<>(null, headers), QuestionsListResponse.class);
+        String listETag = list.getHeaders().getETag();
+        assertThat(listETag).isNotNull();
+
+        HttpHeaders conditional = new HttpHeaders();
+        conditional.addAll(headers);
+        conditional.setIfNoneMatch(detailsETag);
+        ResponseEntity<QuestionsResponse> notModified = restTemplate.exchange(detailsUrl, HttpMethod.GET,
+                new HttpEntity<>(null, conditional), QuestionsResponse.class);
+        assertThat(notModified.getStatusCode().value()).isEqualTo(304);
+        assertThat(notModified.getHeaders().getETag()).isEqualTo(detailsETag);
+        assertThat(notModified.getHeaders().getFirst(StatementBudgetGuard.STATEMENT_COUNT_HEADER)).isEqualTo("1");
+        conditional.setIfNoneMatch(listETag);
+        ResponseEntity<QuestionsListResponse> listNotModified = restTemplate.exchange("/questions", HttpMethod.GET,
+                new HttpEntity<>(null, conditional), QuestionsListResponse.class);
+        assertThat(listNotModified.getStatusCode().value()).isEqualTo(304);
+        assertThat(listNotModified.getHeaders().getFirst(StatementBudgetGuard.STATEMENT_COUNT_HEADER)).isEqualTo("0");
+
+        restTemplate.exchange("/questions/" + sampleQuestion.getId() + "/reply", HttpMethod.POST,
+                new HttpEntity<>(PostQuestionReplyBody.builder().message("new reply").author("sathish").build(), headers),
+                PostReplyResponse.class);
+        conditional.setIfNoneMatch(detailsETag);
+        details = restTemplate.exchange(detailsUrl, HttpMethod.GET, new HttpEntity<>(null, conditional), QuestionsResponse.class);
+        assertThat(details.getStatusCode().value()).isEqualTo(200);
+        assertThat(details.getHeaders().getETag()).endsWith("." + sampleQuestion.getId() + ".1\"");
+        assertThat(details.getBody().getReplies()).extracting(ReplyDetails::getMessage).containsExactly("new reply");
+        assertThat(details.getHeaders().getFirst(StatementBudgetGuard.STATEMENT_COUNT_HEADER)).isEqualTo("2");
+        conditional.setIfNoneMatch(listETag);
+        list = restTemplate.exchange("/questions", HttpMethod.GET, new HttpEntity<>(null, conditional), QuestionsListResponse.class);
+        assertThat(list.getStatusCode().value()).isEqualTo(200);
+        assertThat(list.getHeaders().getETag()).isNotEqualTo(listETag);
+    }
+
+    /**
+     * Create many questions and replies with the bulk endpoints.
+     *
+     * @result Posts are created, reply counts are maintained and invalid items are reported per item.
+     */
+    @Test
+    public void bulkEndpoints_whenInputIsMixed_ReturnsResultPerItem() {
+        ResponseEntity<List<BulkPostResult>> questions = restTemplate.exchange(
+                "/questions/bulk", HttpMethod.POST,
+                new HttpEntity<>(Arrays.asList(
+                        PostQuestionReplyBody.builder().message("bulk question").author("sathish").build(),
+                        PostQuestionReplyBody.builder().message("").author("sathish").build()), headers),
+                new ParameterizedTypeReference<List<BulkPostResult>>() {
+                });
+        assertThat(questions.getStatusCode().value()).isEqualTo(200);
+        assertThat(questions.getBody()).extracting(BulkPostResult::getStatus).containsExactly(200, 422);
+        Long questionId = questions.getBody().get(0).getId();
+
+        ResponseEntity<List<BulkPostResult>> replies = restTemplate.exchange(
+                "/questions/replies/bulk", HttpMethod.POST,
+                new HttpEntity<>(Arrays.asList(
+                        BulkReplyBody.builder().questionId(questionId)
+                                .reply(PostQuestionReplyBody.builder().message("bulk reply").author("sathish").build()).build(),
+                        BulkReplyBody.builder().questionId(questionId)
+                                .reply(PostQuestionReplyBody.builder().message("bulk reply").author("sathish").build()).build(),
+                        BulkReplyBody.builder().questionId(Long.MAX_VALUE)
+                                .reply(PostQuestionReplyBody.builder().message("bulk reply").author("sathish").build()).build()),
+                        headers),
+                new ParameterizedTypeReference<List<BulkPostResult>>() {
+                });
+        assertThat(replies.getBody()).extracting(BulkPostResult::getStatus).containsExactly(200, 200, 404);
+        assertThat(replies.getBody()).extracting(BulkPostResult::getQuestionId).containsExactly(questionId, questionId, null);
+        assertThat(repository.findById(questionId).get().getReplyCount()).isEqualTo(2l);
+    }
+
+    /**
+     * Scrape the prometheus endpoint after a successful and a failed request.
+     *
+     * @result Operation timers, error counters, hibernate statistics and connection pool gauges are exported.
+     */
+    @Test
+    public void prometheusEndpoint_afterRequests_ExportsApiMetrics() {
+        restTemplate.exchange("/questions/" + sampleQuestion.getId(), HttpMethod.GET,
+                new HttpEntity<>(null, headers), QuestionsResponse.class);
+        restTemplate.exchange("/questions", HttpMethod.POST,
+                new HttpEntity<>(PostQuestionReplyBody.builder().message("test message").author("").build(), headers),
+                QuestionsApiErrorResponse.class);
+
+        ResponseEntity<String> response = restTemplate.getForEntity("/actuator/prometheus", String.class);
+
+        assertThat(response.getStatusCode().value()).isEqualTo(200);
+        assertThat(response.getBody())
+                .contains("questions_api_seconds_bucket{")
+                .contains("operation=\"getQuestionDetails\"")
+                .contains("quantile=\"0.99\"")
+                .contains("questions_api_errors_total{errorCode=\"ERROR008\",status=\"422\",}")
+                .contains("hibernate_statements_total")
+                .contains("hibernate_entities_loads_total")
+                .contains("hibernate_collections_fetches_total")
+                .contains("hibernate_second_level_cache_requests_total{")
+                .contains("region=\"questions\"")
+                .contains("hibernate_cache_query_requests_total")
+                .contains("hikaricp_connections_active")
+                .contains("questions_api_statements_count{operation=\"getQuestionDetails\"")
+                .contains("cache_gets_total{cache=\"questionDetails\"")
+                .contains("cache_gets_total{cache=\"questionDetailsJson\"");
+    }
+
+    /**
+     * Create a question and a reply through the API and search for them.
+     *
+     * @result New posts are found right away, best match first, and an empty query is rejected.
+     */
+    @Test
+    public void searchPosts_afterPostsAreCreated_ReturnsMatchingPosts() {
+        QuestionDetails question = restTemplate.exchange("/questions", HttpMethod.POST,
+                new HttpEntity<>(PostQuestionReplyBody.builder().message("zeppelin airship mooring").author("sathish").build(), headers),
+                QuestionDetails.class).getBody();
+        PostReplyResponse reply = restTemplate.exchange("/questions/" + question.getId() + "/reply", HttpMethod.POST,
+                new HttpEntity<>(PostQuestionReplyBody.builder().message("zeppelin, zeppelin!").author("sathish").build(), headers),
+                PostReplyResponse.class).getBody();
+
+        ResponseEntity<SearchResponse> response = restTemplate.exchange("/questions/search?q=Zeppelin",
+                HttpMethod.GET, new HttpEntity<>(null, headers), SearchResponse.class);
+        assertThat(response.getStatusCode().value()).isEqualTo(200);
+        assertThat(response.getBody().getHits()).extracting(SearchHit::getId).containsExactly(reply.getId(), question.getId());
+        assertThat(response.getBody().getHits()).extracting(SearchHit::getQuestionId).containsExactly(question.getId(), null);
+        assertWithinStatementBudget("searchPosts", response);
+
+        ResponseEntity<QuestionsApiErrorResponse> error = restTemplate.exchange("/questions/search?q=",
+                HttpMethod.GET, new HttpEntity<>(null, headers), QuestionsApiErrorResponse.class);
+        assertThat(error.getBody().getErrorCode()).isEqualTo("ERROR014");
+    }
+
+    /**
+     * Request the details of a question with replies larger than the compression threshold with and without gzip.
+     *
+     * @result Repeated gzip requests get the same cached gzip bytes, plain requests get the uncompressed JSON.
+     */
+    @Test
+    public void getQuestionDetails_whenGzipIsAccepted_ReturnsCachedCompressedJson() throws Exception {
+        QuestionsEntity question = repository.save(QuestionsEntity.builder()
+                .message("compressible question")
+                .author("test user")
+                .build());
+        List<RepliesEntity> replies = new ArrayList<>();
+        for (int i = 0; i < QuestionsRequestValidator.DEFAULT_PAGE_SIZE; i++) {
+            replies.add(RepliesEntity.builder()
+                    .message("compressible reply " + i)
+                    .author("test user")
+                    .questionId(question.getId())
+                    .build());
+        }
+        repliesRepository.saveAll(replies);
+        HttpHeaders gzipHeaders = new HttpHeaders();
+        gzipHeaders.addAll(headers);
+        gzipHeaders.set(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        ResponseEntity<byte[]> first = restTemplate.exchange("/questions/" + question.getId(), HttpMethod.GET,
+                new HttpEntity<>(null, gzipHeaders), byte[].class);
+        ResponseEntity<byte[]> second = restTemplate.exchange("/questions/" + question.getId(), HttpMethod.GET,
+                new HttpEntity<>(null, gzipHeaders), byte[].class);
+        assertThat(second.getStatusCode().value()).isEqualTo(200);
+        assertThat(second.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(second.getBody()).isEqualTo(first.getBody());
+        byte[] json = new GZIPInputStream(new ByteArrayInputStream(second.getBody())).readAllBytes();
+        assertThat(json.length).isGreaterThanOrEqualTo(2048);
+        assertThat(second.getBody().length).isLessThan(json.length);
+        QuestionsResponse body = objectMapper.readValue(json, QuestionsResponse.class);
+        assertThat(body.getReplies()).hasSize(QuestionsRequestValidator.DEFAULT_PAGE_SIZE);
+
+        ResponseEntity<QuestionsResponse> plain = restTemplate.exchange("/questions/" + question.getId(), HttpMethod.GET,
+                new HttpEntity<>(null, headers), QuestionsResponse.class);
+        assertThat(plain.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(plain.getBody().getReplies()).hasSize(QuestionsRequestValidator.DEFAULT_PAGE_SIZE);
+        assertThat(plain.getBody().getReplies().get(0).getMessage()).isEqualTo(body.getReplies().get(0).getMessage());
+        assertThat(plain.getHeaders().getETag()).isEqualTo(second.getHeaders().getETag());
+    }
+
+    /**
+     * Asserts the statement count reported by the response is within the budget configured for the operation.
+     */
+    private void assertWithinStatementBudget(String operation, ResponseEntity<?> response) {
+        String statements = response.getHeaders().getFirst(StatementBudgetGuard.STATEMENT_COUNT_HEADER);
+        assertThat(statements).isNotNull();
+        assertThat(Integer.parseInt(statements)).isLessThanOrEqualTo(statementBudget.getBudgets().get(operation));
+    }
+
+    private CacheStats questionDetailsCacheStats() {
+        return ((CaffeineCache) cacheManager.getCache(QuestionControllerDelegate.QUESTION_DETAILS_CACHE))
+                .getNativeCache().stats();
     }
 }
@@ -1,26 +1,50 @@
 package com.example.demo.forum.delegates;
 
 import com.example.demo.forum.exceptions.QuestionsApiException;
+import com.example.demo.forum.model.BulkPostResult;
+import com.example.demo.forum.model.BulkReplyBody;
 import com.example.demo.forum.model.PostReplyResponse;
 import com.example.demo.forum.model.QuestionDetails;
+import com.example.demo.forum.model.QuestionResult;
+import com.example.demo.forum.model.QuestionsListResponse;
 import com.example.demo.forum.model.QuestionsResponse;
+import com.example.demo.forum.model.RepliesListResponse;
+import com.example.demo.forum.model.SearchHit;
+import com.example.demo.forum.model.SearchResponse;
+import com.example.demo.forum.persistence.QuestionsEntity;
+import com.example.demo.forum.persistence.QuestionsIdAllocator;
+import com.example.demo.forum.persistence.QuestionsReadRepository;
 import com.example.demo.forum.persistence.QuestionsRepository;
+import com.example.demo.forum.persistence.RepliesRepository;
+import com.example.demo.forum.search.QuestionsSearchIndex;
+import com.example.demo.forum.stream.RepliesStreamHub;
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.orm.jpa.JpaSystemException;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static com.example.demo.utils.MockObjectFactory.*;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -35,6 +59,34 @@ public class QuestionControllerDelegateTest {
     private QuestionControllerDelegate controllerDelegate;
     @Mock
     private QuestionsRepository repository;
+    @Mock
+    private RepliesRepository repliesRepository;
+    @Mock
+    private QuestionsReadRepository readRepository;
+    @Mock
+    private QuestionsBulkWriter bulkWriter;
+    @Mock
+    private QuestionDetailsCache detailsCache;
+    @Mock
+    private QuestionsSearchIndex searchIndex;
+    @Mock
+    private QuestionsWriteBehind writeBehind;
+    @Mock
+    private QuestionsIdAllocator idAllocator;
+    @Spy
+    private QuestionsETags eTags = new QuestionsETags(new HttpCacheProperties());
+    @Mock
+    private RepliesStreamHub repliesStream;
+    @Spy
+    private QuestionsLoadCoalescer coalescer = new QuestionsLoadCoalescer(new CoalescingProperties());
+
+    /**
+     * Question details are read through the cache, which is always missed.
+     */
+    @Before
+    public void init() {
+        when(detailsCache.load(any(), any())).thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+    }
 
     /**
      * Test add new question with valid input to test success flow.
@@ -47,6 +99,7 @@ public class QuestionControllerDelegateTest {
         ResponseEntity<QuestionDetails> response = controllerDelegate.addQuestion(getValidRequestBody());
         assertThat(response.getBody()).isNotNull();
         assertThat(response.getBody().getId()).isEqualTo(101l);
+        verify(searchIndex).index(any());
     }
 
     /**
@@ -94,12 +147,15 @@ public class QuestionControllerDelegateTest {
      */
     @Test
     public void createReply_WhenInputIsValid_createsNewReply() {
-        when(repository.save(any())).thenReturn(createReplyEntity());
-        when(repository.findById(any())).thenReturn(Optional.of(createReplyEntity()));
+        when(repliesRepository.saveAndFlush(any())).thenReturn(createReplyEntity());
+        when(repository.incrementReplyCount(10l, 1l)).thenReturn(1);
         ResponseEntity<PostReplyResponse> response = controllerDelegate.createReply(10l, getValidRequestBody());
         assertThat(response.getBody()).isNotNull();
         assertThat(response.getBody().getId()).isEqualTo(101l);
         assertThat(response.getBody().getQuestionId()).isEqualTo(10l);
+        verify(repository, never()).findById(any());
+        verify(repliesStream).publish(any());
+        verify(detailsCache).evict(10l);
     }
 
     /**
@@ -109,9 +165,25 @@ public class QuestionControllerDelegateTest {
      */
     @Test
     public void createReply_whenInputQuestionIsNotFound_throwsException() {
-        when(repository.findById(any())).thenReturn(Optional.empty());
+        when(repository.incrementReplyCount(10l, 1l)).thenReturn(0);
+        assertThatThrownBy(() -> controllerDelegate.createReply(10l, getValidRequestBody()))
+                .hasMessageContaining("Question Not Found.")
+                .isInstanceOf(QuestionsApiException.class);
+        verify(repliesRepository, never()).saveAndFlush(any());
+    }
+
+    /**
+     * Test add new reply when the question is removed before the reply is inserted.
+     *
+     * @result foreign key violation is reported as question not found.
+     */
+    @Test
+    public void createReply_whenForeignKeyIsViolated_throwsNotFoundException() {
+        when(repository.incrementReplyCount(10l, 1l)).thenReturn(1);
+        when(repliesRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("sample exception"));
         assertThatThrownBy(() -> controllerDelegate.createReply(10l, getValidRequestBody()))
                 .hasMessageContaining("Question Not Found.")
+                .hasFieldOrPropertyWithValue("errorCode", "ERROR002")
                 .isInstanceOf(QuestionsApiException.class);
     }
 
@@ -146,8 +218,8 @@ public class QuestionControllerDelegateTest {
      */
     @Test
     public void createReply_WhenJPAExceptionOccurs_ThrowsException() {
-        when(repository.findById(any())).thenReturn(Optional.of(createReplyEntity().getQuestion()));
-        when(repository.save(any())).thenThrow(new JpaSystemException(new RuntimeException("sample exception")));
+        when(repository.incrementReplyCount(10l, 1l)).thenReturn(1);
+        when(repliesRepository.saveAndFlush(any())).thenThrow(new JpaSystemException(new RuntimeException("sample exception")));
         assertThatThrownBy(() -> controllerDelegate.createReply(10l, getValidRequestBody()))
                 .hasMessageContaining("JPA exception while saving reply")
                 .hasCauseExactlyInstanceOf(JpaSystemException.class)
@@ -161,13 +233,41 @@ public class QuestionControllerDelegateTest {
      */
     @Test
     public void getListOfQuestions_whenSuccessful_returnsListOfQuestions() {
-        when(repository.findByParentQuestionIdIsNull())
-                .thenReturn(Collections.singletonList(createQuestionsEntity()));
-        ResponseEntity<List<QuestionDetails>> response = controllerDelegate.getListOfQuestions();
+        when(readRepository.findQuestions(any(), any()))
+                .thenReturn(Collections.singletonList(createQuestionDetails()));
+        ResponseEntity<QuestionsListResponse> response = controllerDelegate.getListOfQuestions(null, null);
         assertThat(response).isNotNull();
-        assertThat(response.getBody().size()).isEqualTo(1);
-        assertThat(response.getBody().get(0)).isNotNull();
-        assertThat(response.getBody().get(0).getId()).isEqualTo(101l);
+        assertThat(response.getBody().getQuestions().size()).isEqualTo(1);
+        assertThat(response.getBody().getQuestions().get(0)).isNotNull();
+        assertThat(response.getBody().getQuestions().get(0).getId()).isEqualTo(101l);
+        assertThat(response.getBody().getQuestions().get(0).getReplies()).isEqualTo(1l);
+        assertThat(response.getBody().getNextCursor()).isNull();
+    }
+
+    /**
+     * Test getListOfQuestion service when more questions exist than the requested limit.
+     *
+     * @result return a page of questions with the cursor to the next page.
+     */
+    @Test
+    public void getListOfQuestions_whenMoreQuestionsExist_returnsNextCursor() {
+        when(readRepository.findQuestions(eq(100l), eq(PageRequest.of(0, 3))))
+                .thenReturn(Arrays.asList(createQuestionDetails(101l), createQuestionDetails(102l), createQuestionDetails(103l)));
+        ResponseEntity<QuestionsListResponse> response = controllerDelegate.getListOfQuestions(100l, 2);
+        assertThat(response.getBody().getQuestions()).extracting(QuestionDetails::getId).containsExactly(101l, 102l);
+        assertThat(response.getBody().getNextCursor()).isEqualTo(102l);
+    }
+
+    /**
+     * Test getListOfQuestion service when the requested limit is out of range.
+     *
+     * @result validation error is thrown by the method.
+     */
+    @Test
+    public void getListOfQuestions_whenLimitIsInvalid_throwsException() {
+        assertThatThrownBy(() -> controllerDelegate.getListOfQuestions(null, 0))
+                .hasMessageContaining("Invalid input. Limit must be between 1 and")
+                .isInstanceOf(QuestionsApiException.class);
     }
 
     /**
@@ -177,13 +277,73 @@ public class QuestionControllerDelegateTest {
      */
     @Test
     public void getListOfQuestions_whenJPAExceptionOccurs_throwsException() {
-        when(repository.findByParentQuestionIdIsNull()).thenThrow(new JpaSystemException(new RuntimeException("sample exception")));
-        assertThatThrownBy(() -> controllerDelegate.getListOfQuestions())
+        when(readRepository.findQuestions(any(), any())).thenThrow(new JpaSystemException(new RuntimeException("sample exception")));
+        assertThatThrownBy(() -> controllerDelegate.getListOfQuestions(null, null))
                 .hasMessageContaining("Exception occurred while reading Questions from Database")
                 .hasCauseExactlyInstanceOf(JpaSystemException.class)
                 .isInstanceOf(QuestionsApiException.class);
     }
 
+    /**
+     * Test getQuestions service with ids which exist, are repeated and do not exist.
+     *
+     * @result return a result per id in request order, ids not found are reported in their result.
+     */
+    @Test
+    public void getQuestions_whenSomeIdsAreNotFound_returnsResultPerIdInRequestOrder() {
+        when(readRepository.findQuestionsByIds(any()))
+                .thenReturn(Arrays.asList(createQuestionDetails(101l), createQuestionDetails(103l)));
+        ResponseEntity<List<QuestionResult>> response = controllerDelegate.getQuestions(Arrays.asList(103l, 102l, 101l, 103l));
+        assertThat(response.getBody()).extracting(QuestionResult::getIndex).containsExactly(0, 1, 2, 3);
+        assertThat(response.getBody()).extracting(QuestionResult::getId).containsExactly(103l, 102l, 101l, 103l);
+        assertThat(response.getBody()).extracting(QuestionResult::getStatus).containsExactly(200, 404, 200, 200);
+        assertThat(response.getBody().get(1).getErrorCode()).isEqualTo("ERROR006");
+        assertThat(response.getBody().get(1).getQuestion()).isNull();
+        assertThat(response.getBody().get(2).getQuestion().getReplies()).isEqualTo(1l);
+        verify(readRepository).findQuestionsByIds(new HashSet<>(Arrays.asList(101l, 102l, 103l)));
+    }
+
+    /**
+     * Test getQuestions service without ids.
+     *
+     * @result validation error is thrown by the method.
+     */
+    @Test
+    public void getQuestions_whenIdsAreEmpty_throwsException() {
+        assertThatThrownBy(() -> controllerDelegate.getQuestions(Collections.emptyList()))
+                .hasMessageContaining("Invalid input. Number of ids must be between 1 and")
+                .isInstanceOf(QuestionsApiException.class);
+        verify(readRepository, never()).findQuestionsByIds(any());
+    }
+
+    /**
+     * Test getQuestions service and the db throws error.
+     *
+     * @result exception is thrown by the method.
+     */
+    @Test
+    public void getQuestions_whenJPAExceptionOccurs_throwsException() {
+        when(readRepository.findQuestionsByIds(any())).thenThrow(new JpaSystemException(new RuntimeException("sample exception")));
+        assertThatThrownBy(() -> controllerDelegate.getQuestions(Collections.singletonList(101l)))
+                .hasMessageContaining("Exception occurred while reading Questions from Database")
+                .hasCauseExactlyInstanceOf(JpaSystemException.class)
+                .isInstanceOf(QuestionsApiException.class);
+    }
+
+    /**
+     * Test streamReplies api when the question does not exist.
+     *
+     * @result not found error is thrown by method and no stream is opened.
+     */
+    @Test
+    public void streamReplies_whenInputQuestionIsNotFound_throwsException() {
+        when(repository.existsById(10l)).thenReturn(false);
+        assertThatThrownBy(() -> controllerDelegate.streamReplies(10l))
+                .hasMessageContaining("Question Not Found.")
+                .isInstanceOf(QuestionsApiException.class);
+        verify(repliesStream, never()).subscribe(any());
+    }
+
     /**
      * Test getQuestionDetails api with valid input.
      *
@@ -191,11 +351,76 @@ public class QuestionControllerDelegateTest {
      */
     @Test
     public void getQuestionDetails_whenInputIsValid_returnsValidResponse() {
-        when(repository.findById(any())).thenReturn(Optional.of(createQuestionsEntity()));
-        ResponseEntity<QuestionsResponse> response = controllerDelegate.getQuestionDetails(10l);
+        when(readRepository.findQuestionWithReplies(eq(10l), eq(0l), eq(PageRequest.of(0, QuestionControllerDelegate.DEFAULT_PAGE_SIZE + 1))))
+                .thenReturn(Collections.singletonList(createQuestionRepliesRow()));
+        ResponseEntity<QuestionsResponse> response = controllerDelegate.getQuestionDetails(10l, null, null);
         assertThat(response.getBody()).isNotNull();
         assertThat(response.getBody().getId()).isEqualTo(101l);
         assertThat(response.getBody().getReplies().size()).isEqualTo(1);
+        assertThat(response.getBody().getNextCursor()).isNull();
+        assertThat(response.getHeaders().getETag()).isEqualTo(eTags.questionETag(101l, 3l));
+    }
+
+    /**
+     * Test getQuestionDetails api when only the question is requested.
+     *
+     * @result return the question details from a single row without any replies.
+     */
+    @Test
+    public void getQuestionDetails_whenLimitIsZero_returnsQuestionWithoutReplies() {
+        when(readRepository.findQuestionWithReplies(eq(10l), eq(0l), eq(PageRequest.of(0, 1))))
+                .thenReturn(Collections.singletonList(createQuestionRepliesRow()));
+        ResponseEntity<QuestionsResponse> response = controllerDelegate.getQuestionDetails(10l, null, 0);
+        assertThat(response.getBody().getId()).isEqualTo(101l);
+        assertThat(response.getBody().getReplies()).isEmpty();
+    }
+
+    /**
+     * Test getListOfQuestions with the ETag of the previous response when no question changed in between.
+     *
+     * @result 304 is returned without reading the DB, a change of the list invalidates the ETag.
+     */
+    @Test
+    public void listOfQuestionsNotModified_whenETagIsCurrent_returnsNotModified() {
+        when(readRepository.findQuestions(any(), any()))
+                .thenReturn(Collections.singletonList(createQuestionDetails()));
+        ResponseEntity<QuestionsListResponse> response = controllerDelegate.getListOfQuestions(null, null);
+        String eTag = response.getHeaders().getETag();
+        assertThat(response.getHeaders().getCacheControl()).contains("s-maxage=5");
+
+        Optional<ResponseEntity<QuestionsListResponse>> notModified = controllerDelegate.listOfQuestionsNotModified(eTag);
+        assertThat(notModified).get().extracting(ResponseEntity::getStatusCode).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(notModified.get().getHeaders().getETag()).isEqualTo(eTag);
+
+        eTags.listChanged();
+        assertThat(controllerDelegate.listOfQuestionsNotModified(eTag)).isEmpty();
+        verify(readRepository).findQuestions(any(), any());
+    }
+
+    /**
+     * Test getQuestionDetails with the ETag of the current version of the question, which is not cached.
+     *
+     * @result 304 is returned from the version of the question alone, its replies are not read.
+     */
+    @Test
+    public void questionDetailsNotModified_whenVersionIsCurrent_returnsNotModifiedWithoutReadingReplies() {
+        when(readRepository.findVersion(101l)).thenReturn(Optional.of(3l));
+        Optional<ResponseEntity<QuestionsResponse>> response = controllerDelegate.questionDetailsNotModified(101l, "W/" + eTags.questionETag(101l, 3l));
+        assertThat(response).get().extracting(ResponseEntity::getStatusCode).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(response.get().getHeaders().getETag()).isEqualTo(eTags.questionETag(101l, 3l));
+        verify(readRepository, never()).findQuestionWithReplies(any(), any(), any());
+    }
+
+    /**
+     * Test getQuestionDetails with the ETag of an older version of the question.
+     *
+     * @result no 304 is returned, the details have to be read.
+     */
+    @Test
+    public void questionDetailsNotModified_whenVersionChanged_returnsEmpty() {
+        when(readRepository.findVersion(101l)).thenReturn(Optional.of(3l));
+        assertThat(controllerDelegate.questionDetailsNotModified(101l, eTags.questionETag(101l, 2l))).isEmpty();
+        assertThat(controllerDelegate.questionDetailsNotModified(101l, null)).isEmpty();
     }
 
     /**
@@ -205,8 +430,8 @@ public class QuestionControllerDelegateTest {
      */
     @Test
     public void getQuestionDetails_whenInputQuestionIsNotFound_throwsException() {
-        when(repository.findById(any())).thenReturn(Optional.empty());
-        assertThatThrownBy(() -> controllerDelegate.getQuestionDetails(10l))
+        when(readRepository.findQuestionWithReplies(any(), any(), any())).thenReturn(Collections.emptyList());
+        assertThatThrownBy(() -> controllerDelegate.getQuestionDetails(10l, null, null))
                 .hasMessageContaining("Question Not Found.")
                 .isInstanceOf(QuestionsApiException.class);
     }
@@ -218,10 +443,165 @@ public class QuestionControllerDelegateTest {
      */
     @Test
     public void getQuestionDetails_whenJPAExceptionOccurs_throwsException() {
-        when(repository.findById(any())).thenThrow(new JpaSystemException(new RuntimeException("sample exception")));
-        assertThatThrownBy(() -> controllerDelegate.getQuestionDetails(10l))
+        when(readRepository.findQuestionWithReplies(any(), any(), any())).thenThrow(new JpaSystemException(new RuntimeException("sample exception")));
+        assertThatThrownBy(() -> controllerDelegate.getQuestionDetails(10l, null, null))
                 .hasMessageContaining("Exception occurred while reading question details")
                 .hasCauseExactlyInstanceOf(JpaSystemException.class)
                 .isInstanceOf(QuestionsApiException.class);
     }
+
+    /**
+     * Test getReplies api when more replies exist than the requested limit.
+     *
+     * @result return a page of replies with the cursor to the next page.
+     */
+    @Test
+    public void getReplies_whenMoreRepliesExist_returnsNextCursor() {
+        when(readRepository.findReplies(eq(10l), eq(0l), eq(PageRequest.of(0, 2))))
+                .thenReturn(Arrays.asList(createReplyDetails(), createReplyDetails()));
+        ResponseEntity<RepliesListResponse> response = controllerDelegate.getReplies(10l, null, 1);
+        assertThat(response.getBody().getReplies().size()).isEqualTo(1);
+        assertThat(response.getBody().getNextCursor()).isEqualTo(101l);
+    }
+
+    /**
+     * Test getReplies api when input question id does not exist.
+     *
+     * @result not found error is thrown by method.
+     */
+    @Test
+    public void getReplies_whenInputQuestionIsNotFound_throwsException() {
+        when(readRepository.findReplies(any(), any(), any()))
+                .thenReturn(Collections.emptyList());
+        when(repository.existsById(any())).thenReturn(false);
+        assertThatThrownBy(() -> controllerDelegate.getReplies(10l, null, null))
+                .hasMessageContaining("Question Not Found.")
+                .isInstanceOf(QuestionsApiException.class);
+    }
+
+    /**
+     * Test add many questions when one of them has invalid author input.
+     *
+     * @result valid questions are saved and the invalid one is reported in its result.
+     */
+    @Test
+    public void addQuestions_whenOneQuestionIsInvalid_returnsResultPerQuestion() {
+        when(bulkWriter.saveQuestions(any())).thenReturn(Collections.singletonList(createQuestionsEntity()));
+        ResponseEntity<List<BulkPostResult>> response = controllerDelegate.addQuestions(
+                Arrays.asList(getRequestWithEmptyAuthor(), getValidRequestBody()));
+        assertThat(response.getBody()).extracting(BulkPostResult::getIndex).containsExactly(0, 1);
+        assertThat(response.getBody()).extracting(BulkPostResult::getErrorCode).containsExactly("ERROR008", null);
+        assertThat(response.getBody()).extracting(BulkPostResult::getId).containsExactly(null, 101l);
+    }
+
+    /**
+     * Test add many questions when the number of questions exceeds the limit.
+     *
+     * @result validation error is thrown by the method.
+     */
+    @Test
+    public void addQuestions_whenTooManyQuestions_throwsException() {
+        assertThatThrownBy(() -> controllerDelegate.addQuestions(
+                Collections.nCopies(QuestionControllerDelegate.MAX_BULK_SIZE + 1, getValidRequestBody())))
+                .hasMessageContaining("Invalid input. Number of posts must be between 1 and")
+                .isInstanceOf(QuestionsApiException.class);
+    }
+
+    /**
+     * Test add many replies when one of the questions is not found.
+     *
+     * @result replies to existing questions are saved and the other one is reported as not found.
+     */
+    @Test
+    public void createReplies_whenQuestionIsNotFound_returnsResultPerReply() {
+        when(repository.findExistingIds(any())).thenReturn(Collections.singletonList(10l));
+        when(bulkWriter.saveReplies(any())).thenReturn(Collections.singletonList(createReplyEntity()));
+        ResponseEntity<List<BulkPostResult>> response = controllerDelegate.createReplies(Arrays.asList(
+                BulkReplyBody.builder().questionId(10l).reply(getValidRequestBody()).build(),
+                BulkReplyBody.builder().questionId(11l).reply(getValidRequestBody()).build()));
+        assertThat(response.getBody()).extracting(BulkPostResult::getStatus).containsExactly(200, 404);
+        assertThat(response.getBody()).extracting(BulkPostResult::getQuestionId).containsExactly(10l, null);
+        assertThat(response.getBody()).extracting(BulkPostResult::getErrorCode).containsExactly(null, "ERROR002");
+        verify(detailsCache).evict(10l);
+    }
+
+    /**
+     * Test search when the index matches a question and a reply.
+     *
+     * @result matching posts are read from the DB and returned in index order with their scores.
+     */
+    @Test
+    public void searchPosts_whenPostsMatch_returnsHitsInScoreOrder() {
+        when(searchIndex.search("first", QuestionControllerDelegate.DEFAULT_PAGE_SIZE)).thenReturn(Arrays.asList(
+                new QuestionsSearchIndex.Match(101l, 2.0), new QuestionsSearchIndex.Match(10l, 1.0)));
+        when(repository.findAllById(Arrays.asList(101l, 10l))).thenReturn(Collections.singletonList(
+                QuestionsEntity.builder().id(10l).author("sample").message("first message").build()));
+        when(repliesRepository.findAllById(Arrays.asList(101l, 10l))).thenReturn(Collections.singletonList(createReplyEntity()));
+        ResponseEntity<SearchResponse> response = controllerDelegate.searchPosts("first", null);
+        assertThat(response.getBody().getHits()).extracting(SearchHit::getId).containsExactly(101l, 10l);
+        assertThat(response.getBody().getHits()).extracting(SearchHit::getQuestionId).containsExactly(10l, null);
+        assertThat(response.getBody().getHits()).extracting(SearchHit::getScore).containsExactly(2.0, 1.0);
+    }
+
+    /**
+     * Test search with an empty query.
+     *
+     * @result validation error is thrown and the index is not searched.
+     */
+    @Test
+    public void searchPosts_whenQueryIsEmpty_throwsException() {
+        assertThatThrownBy(() -> controllerDelegate.searchPosts(" ", null))
+                .hasMessageContaining("Invalid input. Query cannot be empty or null.")
+                .isInstanceOf(QuestionsApiException.class);
+        verify(searchIndex, never()).search(any(), eq(QuestionControllerDelegate.DEFAULT_PAGE_SIZE));
+    }
+
+    /**
+     * Test add new question in write-behind mode.
+     *
+     * @result question is queued with a reserved id and accepted without being saved.
+     */
+    @Test
+    public void addQuestion_whenWriteBehindIsEnabled_returnsAcceptedWithReservedId() {
+        when(writeBehind.isEnabled()).thenReturn(true);
+        when(idAllocator.allocate()).thenReturn(201l);
+        ResponseEntity<QuestionDetails> response = controllerDelegate.addQuestion(getValidRequestBody());
+        assertThat(response.getStatusCode().value()).isEqualTo(202);
+        assertThat(response.getBody().getId()).isEqualTo(201l);
+        verify(writeBehind).enqueue(any());
+        verify(repository, never()).save(any());
+    }
+
+    /**
+     * Test add new reply in write-behind mode when the question is not found.
+     *
+     * @result question not found exception is thrown and nothing is queued.
+     */
+    @Test
+    public void createReply_whenWriteBehindIsEnabledAndQuestionIsNotFound_throwsException() {
+        when(writeBehind.isEnabled()).thenReturn(true);
+        when(repository.existsById(10l)).thenReturn(false);
+        assertThatThrownBy(() -> controllerDelegate.createReply(10l, getValidRequestBody()))
+                .hasMessageContaining("Question Not Found.")
+                .isInstanceOf(QuestionsApiException.class);
+        verify(writeBehind, never()).enqueue(any());
+    }
+
+    /**
+     * Test add new reply in write-behind mode to a question which is still queued.
+     *
+     * @result reply is queued with a reserved id and accepted without looking the question up.
+     */
+    @Test
+    public void createReply_whenWriteBehindIsEnabledAndQuestionIsPending_returnsAccepted() {
+        when(writeBehind.isEnabled()).thenReturn(true);
+        when(writeBehind.isPending(10l)).thenReturn(true);
+        when(idAllocator.allocate()).thenReturn(202l);
+        ResponseEntity<PostReplyResponse> response = controllerDelegate.createReply(10l, getValidRequestBody());
+        assertThat(response.getStatusCode().value()).isEqualTo(202);
+        assertThat(response.getBody().getId()).isEqualTo(202l);
+        assertThat(response.getBody().getQuestionId()).isEqualTo(10l);
+        verify(repository, never()).existsById(any());
+        verify(writeBehind).enqueue(any());
+    }
 }
@@ -0,0 +1,81 @@
+package com.example.demo.forum.delegates;
+
+import com.example.demo.forum.model.QuestionsResponse;
+import org.junit.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit test for the eviction of question details by {@link QuestionDetailsCache}.
+ *
+ * @author Sathish Pendem
+ */
+public class QuestionDetailsCacheTest {
+
+    private final QuestionDetailsCache detailsCache = new QuestionDetailsCache(
+            new ConcurrentMapCacheManager(QuestionControllerDelegate.QUESTION_DETAILS_CACHE));
+
+    /**
+     * Load question details while no reply is added.
+     *
+     * @result the details are cached and served until the question is evicted.
+     */
+    @Test
+    public void load_whenQuestionIsNotEvicted_CachesDetails() {
+        ResponseEntity<QuestionsResponse> details = details("first message");
+        assertThat(detailsCache.load(101l, () -> details)).isSameAs(details);
+        assertThat(detailsCache.get(101l)).isSameAs(details);
+
+        detailsCache.evict(101l);
+        assertThat(detailsCache.get(101l)).isNull();
+    }
+
+    /**
+     * Load question details while a reply to the question commits, after the load has read the old page.
+     *
+     * @result the old page is returned to its request but not cached.
+     */
+    @Test
+    public void load_whenReplyCommitsDuringLoad_DoesNotCacheOldDetails() {
+        ResponseEntity<QuestionsResponse> details = detailsCache.load(101l, () -> {
+            ResponseEntity<QuestionsResponse> old = details("read before the reply");
+            detailsCache.evict(101l);  // The reply commits before the load finishes.
+            return old;
+        });
+        assertThat(details.getBody().getMessage()).isEqualTo("read before the reply");
+        assertThat(detailsCache.get(101l)).isNull();
+
+        ResponseEntity<QuestionsResponse> current = details("read after the reply");
+        detailsCache.load(101l, () -> current);
+        assertThat(detailsCache.get(101l)).isSameAs(current);
+    }
+
+    /**
+     * Evict a question inside a transaction while the old page is loaded and cached.
+     *
+     * @result the question is only evicted once the transaction has committed, the old page is not kept.
+     */
+    @Test
+    public void evict_whenInTransaction_EvictsAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            detailsCache.evict(101l);
+            ResponseEntity<QuestionsResponse> old = details("read before the commit");
+            detailsCache.load(101l, () -> old);
+            assertThat(detailsCache.get(101l)).isSameAs(old);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertThat(detailsCache.get(101l)).isNull();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static ResponseEntity<QuestionsResponse> details(String message) {
+        return ResponseEntity.ok(QuestionsResponse.builder().id(101l).author("sample").message(message).build());
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.demo.forum.delegates;
+
+import com.example.demo.forum.exceptions.QuestionsApiException;
+import io.micrometer.core.instrument.Metrics;
+import org.junit.Test;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit test for the single-flight loads of {@link QuestionsLoadCoalescer}.
+ *
+ * @author Sathish Pendem
+ */
+public class QuestionsLoadCoalescerTest {
+
+    /**
+     * Load the same key from a second thread while the first load is still running.
+     *
+     * @result The loader runs once and both callers get its result, the second one is counted as coalesced.
+     */
+    @Test
+    public void load_whenSameKeyIsLoading_SharesTheRunningLoad() throws Exception {
+        QuestionsLoadCoalescer coalescer = new QuestionsLoadCoalescer(properties(Duration.ofSeconds(10)));
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        double coalesced = Metrics.counter(QuestionsLoadCoalescer.COALESCED_METRIC).count();
+
+        AtomicReference<String> leaderResult = new AtomicReference<>();
+        Thread leader = new Thread(() -> leaderResult.set(coalescer.load(101l, () -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            await(release);
+            return "question 101";
+        })));
+        leader.start();
+        assertThat(loading.await(10, TimeUnit.SECONDS)).isTrue();
+
+        AtomicReference<String> followerResult = new AtomicReference<>();
+        Thread follower = new Thread(() -> followerResult.set(coalescer.load(101l, () -> {
+            loads.incrementAndGet();
+            return "reloaded";
+        })));
+        follower.start();
+        awaitWaiting(follower);
+        release.countDown();
+        leader.join(10000);
+        follower.join(10000);
+
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(leaderResult.get()).isEqualTo("question 101");
+        assertThat(followerResult.get()).isEqualTo("question 101");
+        assertThat(Metrics.counter(QuestionsLoadCoalescer.COALESCED_METRIC).count()).isEqualTo(coalesced + 1);
+        assertThat(coalescer.load(101l, () -> "next load")).isEqualTo("next load");
+    }
+
+    /**
+     * Wait longer than the wait timeout for the load of another thread.
+     *
+     * @result The waiting caller fails with ERROR019 and 503 while the load keeps running.
+     */
+    @Test
+    public void load_whenRunningLoadExceedsWaitTimeout_ThrowsServiceUnavailable() throws Exception {
+        QuestionsLoadCoalescer coalescer = new QuestionsLoadCoalescer(properties(Duration.ofMillis(50)));
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread leader = new Thread(() -> coalescer.load(101l, () -> {
+            loading.countDown();
+            await(release);
+            return "question 101";
+        }));
+        leader.start();
+        assertThat(loading.await(10, TimeUnit.SECONDS)).isTrue();
+        try {
+            assertThatThrownBy(() -> coalescer.load(101l, () -> "reloaded"))
+                    .isInstanceOf(QuestionsApiException.class)
+                    .hasMessageContaining("Timed out waiting for the question")
+                    .satisfies(ex -> assertThat(((QuestionsApiException) ex).getErrorCode()).isEqualTo("ERROR019"))
+                    .satisfies(ex -> assertThat(((QuestionsApiException) ex).getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+        } finally {
+            release.countDown();
+            leader.join(10000);
+        }
+    }
+
+    /**
+     * Load keys when coalescing is disabled.
+     *
+     * @result Every call runs its own loader.
+     */
+    @Test
+    public void load_whenDisabled_RunsEveryLoad() {
+        QuestionsLoadCoalescer coalescer = new QuestionsLoadCoalescer(new CoalescingProperties());
+        assertThat(coalescer.load(101l, () -> "first")).isEqualTo("first");
+        assertThatThrownBy(() -> coalescer.load(101l, () -> {
+            throw new QuestionsApiException("Question Not Found.", null, "ERROR006", null);
+        })).hasMessage("Question Not Found.");
+    }
+
+    private static CoalescingProperties properties(Duration waitTimeout) {
+        CoalescingProperties properties = new CoalescingProperties();
+        properties.setEnabled(true);
+        properties.setWaitTimeout(waitTimeout);
+        return properties;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void awaitWaiting(Thread thread) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (thread.getState() != Thread.State.TIMED_WAITING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.demo.forum.delegates;
+
+import com.example.demo.forum.exceptions.QuestionsApiException;
+import com.example.demo.forum.model.PostQuestionReplyBody;
+import com.example.demo.forum.model.PostReplyResponse;
+import com.example.demo.forum.model.QuestionDetails;
+import com.example.demo.forum.persistence.QuestionsEntity;
+import com.example.demo.forum.persistence.QuestionsRepository;
+import com.example.demo.forum.persistence.RepliesRepository;
+import com.example.demo.forum.search.QuestionsSearchIndex;
+import com.example.demo.forum.stream.RepliesStreamHub;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for the write-behind mode implemented by {@link QuestionsWriteBehind}.
+ *
+ * @author Sathish Pendem
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = "forum.write-behind.enabled=true")
+public class QuestionsWriteBehindTest {
+
+    @Autowired
+    private QuestionControllerDelegate delegate;
+    @Autowired
+    private QuestionsRepository repository;
+    @Autowired
+    private RepliesRepository repliesRepository;
+
+    /**
+     * Post a question and a reply to it in write-behind mode.
+     *
+     * @result Both are accepted with their ids and saved shortly after, the reply count is maintained.
+     */
+    @Test
+    public void addQuestionAndReply_whenWriteBehindIsEnabled_AreSavedWithReservedIds() throws Exception {
+        ResponseEntity<QuestionDetails> question = delegate.addQuestion(PostQuestionReplyBody.builder()
+                .author("test user").message("queued question").build());
+        assertThat(question.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        Long questionId = question.getBody().getId();
+        awaitSaved(questionId);
+
+        ResponseEntity<PostReplyResponse> reply = delegate.createReply(questionId, PostQuestionReplyBody.builder()
+                .author("test user").message("queued reply").build());
+        assertThat(reply.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        awaitSaved(reply.getBody().getId());
+
+        assertThat(repliesRepository.findById(reply.getBody().getId()).get().getQuestionId()).isEqualTo(questionId);
+        assertThat(repository.findById(questionId).get().getReplyCount()).isEqualTo(1l);
+    }
+
+    /**
+     * Reply to a question in write-behind mode before the question is saved.
+     *
+     * @result The reply is accepted and saved after the question.
+     */
+    @Test
+    public void createReply_whenQuestionIsQueued_IsSavedAfterQuestion() throws Exception {
+        ResponseEntity<QuestionDetails> question = delegate.addQuestion(PostQuestionReplyBody.builder()
+                .author("test user").message("queued question").build());
+        Long questionId = question.getBody().getId();
+
+        ResponseEntity<PostReplyResponse> reply = delegate.createReply(questionId, PostQuestionReplyBody.builder()
+                .author("test user").message("reply to queued question").build());
+        assertThat(reply.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        awaitSaved(reply.getBody().getId());
+
+        assertThat(repository.findById(questionId).get().getReplyCount()).isEqualTo(1l);
+    }
+
+    /**
+     * Save a batch in which one post fails to save.
+     *
+     * @result The other posts of the batch are saved one by one and the failing post is kept as dead letter.
+     */
+    @Test
+    public void write_whenBatchFails_RetriesPostsOneByOne() throws Exception {
+        WriteBehindProperties properties = new WriteBehindProperties();
+        properties.setEnabled(true);
+        properties.setRetryBackoff(Duration.ZERO);
+        QuestionsBulkWriter bulkWriter = mock(QuestionsBulkWriter.class);
+        QuestionsEntity bad = QuestionsEntity.builder().reservedId(2l).build();
+        when(bulkWriter.saveQuestions(any())).thenAnswer(invocation -> {
+            List<QuestionsEntity> questions = invocation.getArgument(0);
+            if (questions.contains(bad)) {
+                throw new IllegalStateException("constraint violation");
+            }
+            return questions;
+        });
+        QuestionsWriteBehind writeBehind = new QuestionsWriteBehind(properties, bulkWriter,
+                mock(QuestionDetailsCache.class), mock(QuestionsSearchIndex.class), mock(RepliesStreamHub.class));
+        writeBehind.start();
+
+        writeBehind.enqueue(QuestionsEntity.builder().reservedId(1l).build());
+        writeBehind.enqueue(bad);
+        writeBehind.enqueue(QuestionsEntity.builder().reservedId(3l).build());
+        writeBehind.stop();
+
+        verify(bulkWriter, atLeast(3)).saveQuestions(argThat(questions -> questions.size() == 1));
+        assertThat(writeBehind.getDeadLetters()).containsExactly(bad);
+        assertThat(writeBehind.isPending(1l)).isFalse();
+        assertThat(writeBehind.isPending(2l)).isFalse();
+    }
+
+    /**
+     * Queue posts while the writer is busy saving an earlier post.
+     *
+     * @result Posts are rejected with 429 once the queue is full, and after shutdown.
+     */
+    @Test
+    public void enqueue_whenQueueIsFull_ThrowsTooManyRequests() throws Exception {
+        WriteBehindProperties properties = new WriteBehindProperties();
+        properties.setEnabled(true);
+        properties.setQueueCapacity(1);
+        properties.setBatchSize(1);
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        QuestionsBulkWriter bulkWriter = mock(QuestionsBulkWriter.class);
+        when(bulkWriter.saveQuestions(any())).thenAnswer(invocation -> {
+            writing.countDown();
+            release.await();
+            return Collections.emptyList();
+        });
+        QuestionsWriteBehind writeBehind = new QuestionsWriteBehind(properties, bulkWriter,
+                mock(QuestionDetailsCache.class), mock(QuestionsSearchIndex.class), mock(RepliesStreamHub.class));
+        writeBehind.start();
+
+        writeBehind.enqueue(QuestionsEntity.builder().reservedId(1l).build());
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+        writeBehind.enqueue(QuestionsEntity.builder().reservedId(2l).build());
+        assertThatThrownBy(() -> writeBehind.enqueue(QuestionsEntity.builder().reservedId(3l).build()))
+                .isInstanceOf(QuestionsApiException.class)
+                .hasFieldOrPropertyWithValue("status", HttpStatus.TOO_MANY_REQUESTS);
+
+        release.countDown();
+        writeBehind.stop();
+        assertThatThrownBy(() -> writeBehind.enqueue(QuestionsEntity.builder().reservedId(4l).build()))
+                .isInstanceOf(QuestionsApiException.class);
+    }
+
+    private void awaitSaved(Long id) throws InterruptedException {
+        for (int attempt = 0; attempt < 100 && !isSaved(id); attempt++) {
+            Thread.sleep(50);
+        }
+        assertThat(isSaved(id)).isTrue();
+    }
+
+    private boolean isSaved(Long id) {
+        return repository.existsById(id) || repliesRepository.existsById(id);
+    }
+}
@@ -0,0 +1,298 @@
+package com.example.demo.forum.persistence;
+
+import com.example.demo.forum.delegates.QuestionControllerDelegate;
+import com.example.demo.forum.model.PostQuestionReplyBody;
+import com.example.demo.forum.model.QuestionDetails;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration Tests for the queries defined in {@link QuestionsRepository} and {@link QuestionsReadRepository}.
+ * Hibernate statistics are used to count the statements issued against the H2 DB.
+ *
+ * @author Sathish Pendem
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class QuestionsRepositoryTest {
+
+    @Autowired
+    private QuestionsRepository repository;
+    @Autowired
+    private RepliesRepository repliesRepository;
+    @Autowired
+    private QuestionsReadRepository readRepository;
+    @Autowired
+    private QuestionControllerDelegate delegate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private QuestionsIdAllocator idAllocator;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    private Statistics statistics;
+
+    /**
+     * Enables hibernate statistics before any tests are run.
+     */
+    @Before
+    public void init() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    /**
+     * Reads question details for questions having replies.
+     *
+     * @result Reply count of every question is read from its replyCount column.
+     */
+    @Test
+    public void findQuestions_whenQuestionsHaveReplies_ReturnsReplyCount() {
+        QuestionsEntity question = saveQuestionWithReplies(3);
+        QuestionsEntity unanswered = saveQuestionWithReplies(0);
+
+        List<QuestionDetails> questions = readRepository.findQuestions(question.getId() - 1, PageRequest.of(0, 10));
+
+        assertThat(questions).extracting(QuestionDetails::getId)
+                .containsExactly(question.getId(), unanswered.getId());
+        assertThat(questions).filteredOn(details -> details.getId().equals(question.getId()))
+                .extracting(QuestionDetails::getReplies).containsExactly(3l);
+        assertThat(questions).filteredOn(details -> details.getId().equals(unanswered.getId()))
+                .extracting(QuestionDetails::getReplies).containsExactly(0l);
+    }
+
+    /**
+     * Reads the list of questions while the number of questions grows.
+     *
+     * @result Number of statements issued does not depend on the number of questions.
+     */
+    @Test
+    public void getListOfQuestions_whenQuestionsGrow_StatementCountIsConstant() {
+        saveQuestionWithReplies(2);
+        long statementsForFewQuestions = countStatements();
+
+        for (int i = 0; i < 10; i++) {
+            saveQuestionWithReplies(2);
+        }
+        long statementsForManyQuestions = countStatements();
+
+        assertThat(statementsForFewQuestions).isEqualTo(1l);
+        assertThat(statementsForManyQuestions).isEqualTo(statementsForFewQuestions);
+    }
+
+    /**
+     * Reads questions page by page using the returned cursor.
+     *
+     * @result Every question is read exactly once and in id order.
+     */
+    @Test
+    public void findQuestions_whenReadAfterCursor_ReturnsNextPage() {
+        QuestionsEntity first = saveQuestionWithReplies(1);
+        QuestionsEntity second = saveQuestionWithReplies(0);
+        QuestionsEntity third = saveQuestionWithReplies(0);
+
+        List<QuestionDetails> firstPage = readRepository.findQuestions(first.getId() - 1, PageRequest.of(0, 2));
+        List<QuestionDetails> secondPage = readRepository.findQuestions(
+                firstPage.get(firstPage.size() - 1).getId(), PageRequest.of(0, 2));
+
+        assertThat(firstPage).extracting(QuestionDetails::getId).containsExactly(first.getId(), second.getId());
+        assertThat(secondPage).extracting(QuestionDetails::getId).containsExactly(third.getId());
+    }
+
+    /**
+     * Reads a question with a page of its replies, and a question without replies.
+     *
+     * @result One statement per question, no entity is loaded, a question without replies is a single row.
+     */
+    @Test
+    public void findQuestionWithReplies_whenQuestionIsRead_LoadsNoEntity() {
+        QuestionsEntity question = saveQuestionWithReplies(3);
+        QuestionsEntity unanswered = saveQuestionWithReplies(0);
+        statistics.clear();
+
+        List<QuestionRepliesRow> rows = readRepository.findQuestionWithReplies(question.getId(), 0l, PageRequest.of(0, 2));
+        List<QuestionRepliesRow> unansweredRows = readRepository.findQuestionWithReplies(unanswered.getId(), 0l, PageRequest.of(0, 2));
+
+        assertThat(rows).extracting(QuestionRepliesRow::getId).containsExactly(question.getId(), question.getId());
+        assertThat(rows).extracting(QuestionRepliesRow::getReplyId).doesNotContainNull().isSorted();
+        assertThat(rows).extracting(QuestionRepliesRow::getVersion).containsOnly(3l);
+        assertThat(unansweredRows).extracting(QuestionRepliesRow::getReplyId).containsExactly((Long) null);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2l);
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(0l);
+    }
+
+    /**
+     * Saves many questions in one transaction.
+     *
+     * @result Ids are reserved in blocks and inserts are sent in JDBC batches instead of one round trip per row.
+     */
+    @Test
+    public void saveAll_whenManyQuestionsAreSaved_StatementsAreBatched() {
+        List<QuestionsEntity> questions = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            questions.add(QuestionsEntity.builder()
+                    .message("test message")
+                    .author("test user")
+                    .build());
+        }
+        statistics.clear();
+
+        repository.saveAll(questions);
+
+        assertThat(questions).extracting(QuestionsEntity::getId).doesNotContainNull().doesNotHaveDuplicates();
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(6l);
+    }
+
+    /**
+     * Posts a reply through the delegate.
+     *
+     * @result The question is not loaded, the reply costs one update and one insert.
+     */
+    @Test
+    public void createReply_whenQuestionExists_DoesNotLoadQuestion() {
+        QuestionsEntity question = saveQuestionWithReplies(0);
+        statistics.clear();
+
+        delegate.createReply(question.getId(), PostQuestionReplyBody.builder().author("test user").message("test reply").build());
+
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(0l);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(1l);
+        assertThat(repository.findById(question.getId()).get().getReplyCount()).isEqualTo(1l);
+    }
+
+    /**
+     * Reserves ids and saves a question with a reserved id.
+     *
+     * @result Reserved ids are unique, the question is inserted with its reserved id.
+     */
+    @Test
+    public void save_whenIdIsReserved_InsertsReservedId() {
+        Long reserved = idAllocator.allocate();
+        assertThat(idAllocator.allocate()).isNotEqualTo(reserved);
+
+        QuestionsEntity question = repository.save(QuestionsEntity.builder()
+                .reservedId(reserved)
+                .message("test message")
+                .author("test user")
+                .build());
+
+        assertThat(question.getId()).isEqualTo(reserved);
+        assertThat(repository.findById(reserved)).isPresent();
+    }
+
+    /**
+     * Reads the same question twice.
+     *
+     * @result The second read is served from the second-level cache without a statement.
+     */
+    @Test
+    public void findById_whenQuestionWasRead_IsServedFromSecondLevelCache() {
+        QuestionsEntity question = saveQuestionWithReplies(1);
+        repository.findById(question.getId());
+        statistics.clear();
+
+        assertThat(repository.findById(question.getId())).isPresent();
+
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(1l);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(0l);
+    }
+
+    /**
+     * Caches the replies collection of a question and saves a new reply to it.
+     *
+     * @result The cached collection is evicted once the reply has been committed.
+     */
+    @Test
+    public void save_whenReplyIsCommitted_EvictsCachedRepliesCollection() {
+        QuestionsEntity question = saveQuestionWithReplies(1);
+        org.hibernate.Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        transactionTemplate.execute(status -> repository.findById(question.getId()).get().getReplies().size());
+        assertThat(cache.containsCollection(RepliesCacheEviction.REPLIES_ROLE, question.getId())).isTrue();
+
+        repliesRepository.save(RepliesEntity.builder()
+                .message("test reply")
+                .author("test user")
+                .questionId(question.getId())
+                .build());
+
+        assertThat(cache.containsCollection(RepliesCacheEviction.REPLIES_ROLE, question.getId())).isFalse();
+    }
+
+    /**
+     * Reads the same page of questions twice, then adds a question.
+     *
+     * @result The second read is served from the query cache, the new question invalidates the cached page.
+     */
+    @Test
+    public void getListOfQuestions_whenReadAgain_IsServedFromQueryCacheUntilQuestionIsAdded() {
+        saveQuestionWithReplies(0);
+        countStatements();
+
+        assertThat(countStatements()).isEqualTo(0l);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1l);
+
+        saveQuestionWithReplies(0);
+        assertThat(countStatements()).isEqualTo(1l);
+    }
+
+    private long countStatements() {
+        statistics.clear();
+        delegate.getListOfQuestions(null, null);
+        return statistics.getPrepareStatementCount();
+    }
+
+    /**
+     * Backfills reply counts of questions whose replies were saved without maintaining the counter.
+     *
+     * @result Reply count of every question in the range is recomputed from its replies.
+     */
+    @Test
+    public void backfillReplyCounts_whenCountersAreMissing_RecomputesReplyCount() {
+        QuestionsEntity question = repository.save(QuestionsEntity.builder()
+                .message("test message")
+                .author("test user")
+                .build());
+        for (int i = 0; i < 2; i++) {
+            repliesRepository.save(RepliesEntity.builder()
+                    .message("test reply")
+                    .author("test user")
+                    .questionId(question.getId())
+                    .build());
+        }
+        assertThat(repository.findById(question.getId()).get().getReplyCount()).isEqualTo(0l);
+
+        repository.backfillReplyCounts(question.getId() - 1, repository.findMaxId());
+
+        assertThat(repository.findById(question.getId()).get().getReplyCount()).isEqualTo(2l);
+    }
+
+    private QuestionsEntity saveQuestionWithReplies(int replies) {
+        QuestionsEntity question = repository.save(QuestionsEntity.builder()
+                .message("test message")
+                .author("test user")
+                .build());
+        for (int i = 0; i < replies; i++) {
+            repliesRepository.save(RepliesEntity.builder()
+                    .message("test reply")
+                    .author("test user")
+                    .questionId(question.getId())
+                    .build());
+            repository.incrementReplyCount(question.getId(), 1l);
+        }
+        return question;
+    }
+}
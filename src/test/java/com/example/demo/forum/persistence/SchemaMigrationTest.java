@@ -0,0 +1,75 @@
+package com.example.demo.forum.persistence;
+
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the Flyway migrations in {@code db/migration}, run against a separate in-memory H2 DB.
+ *
+ * @author Sathish Pendem
+ */
+public class SchemaMigrationTest {
+
+    private Flyway flyway;
+    private JdbcTemplate jdbcTemplate;
+
+    @Before
+    public void init() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:migration;DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        flyway = Flyway.configure().dataSource(dataSource).cleanDisabled(false).load();
+        flyway.clean();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Migrate a schema holding a question with a reply and a reply to that reply.
+     *
+     * @result Both replies are moved to replies_entity under the question and the reply count is recomputed.
+     */
+    @Test
+    public void migrate_whenRepliesAreStoredAsPosts_MovesThemToRepliesTable() {
+        Flyway.configure().dataSource(flyway.getConfiguration().getDataSource()).target("1").load().migrate();
+        jdbcTemplate.update("INSERT INTO questions_entity (id, author, message, parent_question_id, reply_count) VALUES (1, 'a', 'question', NULL, 1)");
+        jdbcTemplate.update("INSERT INTO questions_entity (id, author, message, parent_question_id, reply_count) VALUES (2, 'b', 'reply', 1, 1)");
+        jdbcTemplate.update("INSERT INTO questions_entity (id, author, message, parent_question_id, reply_count) VALUES (3, 'c', 'nested reply', 2, 0)");
+
+        flyway.migrate();
+
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM questions_entity", Long.class)).containsExactly(1L);
+        assertThat(jdbcTemplate.queryForList("SELECT question_id FROM replies_entity ORDER BY id", Long.class)).containsExactly(1L, 1L);
+        assertThat(jdbcTemplate.queryForObject("SELECT reply_count FROM questions_entity WHERE id = 1", Long.class)).isEqualTo(2L);
+    }
+
+    /**
+     * Migrate a schema created by ddl-auto before migrations were introduced, without reply counts and
+     * with ids taken from hibernate_sequence.
+     *
+     * @result The schema is baselined at V0 and migrated, replies are moved and new ids start after the existing posts.
+     */
+    @Test
+    public void migrate_whenSchemaWasCreatedByDdlAuto_BaselinesAndMigratesIt() {
+        jdbcTemplate.execute("CREATE SEQUENCE hibernate_sequence START WITH 1 INCREMENT BY 1");
+        jdbcTemplate.execute("CREATE TABLE questions_entity (id BIGINT NOT NULL, author VARCHAR(255), message VARCHAR(255), " +
+                "parent_question_id BIGINT, PRIMARY KEY (id))");
+        jdbcTemplate.execute("ALTER TABLE questions_entity ADD CONSTRAINT FKmc8xxeeg5ln1rduiyt2wk46o9 " +
+                "FOREIGN KEY (parent_question_id) REFERENCES questions_entity");
+        jdbcTemplate.update("INSERT INTO questions_entity (id, author, message, parent_question_id) VALUES (1, 'a', 'question', NULL)");
+        jdbcTemplate.update("INSERT INTO questions_entity (id, author, message, parent_question_id) VALUES (2, 'b', 'reply', 1)");
+        jdbcTemplate.update("INSERT INTO questions_entity (id, author, message, parent_question_id) VALUES (3, 'c', 'nested reply', 2)");
+
+        Flyway.configure().dataSource(flyway.getConfiguration().getDataSource())
+                .baselineOnMigrate(true).baselineVersion("0").load().migrate();
+
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM questions_entity", Long.class)).containsExactly(1L);
+        assertThat(jdbcTemplate.queryForList("SELECT question_id FROM replies_entity ORDER BY id", Long.class)).containsExactly(1L, 1L);
+        assertThat(jdbcTemplate.queryForObject("SELECT reply_count FROM questions_entity WHERE id = 1", Long.class)).isEqualTo(2L);
+        assertThat(jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR questions_sequence", Long.class)).isGreaterThan(3L);
+    }
+}
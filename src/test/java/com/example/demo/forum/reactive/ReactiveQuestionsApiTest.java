@@ -0,0 +1,150 @@
+package com.example.demo.forum.reactive;
+
+import com.example.demo.forum.exceptions.QuestionsApiErrorResponse;
+import com.example.demo.forum.model.PostQuestionReplyBody;
+import com.example.demo.forum.model.PostReplyResponse;
+import com.example.demo.forum.model.QuestionDetails;
+import com.example.demo.forum.model.QuestionsResponse;
+import com.example.demo.forum.persistence.QuestionsEntity;
+import com.example.demo.forum.persistence.QuestionsRepository;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration Tests for the reactive variant of the api served in the {@code reactive} profile.
+ * H2 DB is used as backend db through R2DBC, test data is created through JPA.
+ *
+ * @author Sathish Pendem
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("reactive")
+public class ReactiveQuestionsApiTest {
+
+    @Autowired
+    private WebTestClient webClient;
+    @Autowired
+    private QuestionsRepository repository;
+    private QuestionsEntity sampleQuestion;
+
+    @Before
+    public void init() {
+        sampleQuestion = repository.save(QuestionsEntity.builder()
+                .message("test message")
+                .author("test user")
+                .build());
+    }
+
+    @Test
+    public void addQuestion_whenInputIsValid_ReturnsNewQuestionCreated() {
+        QuestionDetails question = webClient.post().uri("/questions")
+                .bodyValue(PostQuestionReplyBody.builder().author("sathish").message("reactive question").build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(QuestionDetails.class)
+                .returnResult().getResponseBody();
+        assertThat(question.getId()).isNotEqualTo(sampleQuestion.getId());
+        assertThat(question.getAuthor()).isEqualTo("sathish");
+        assertThat(question.getReplies()).isZero();
+        assertThat(repository.findById(question.getId())).isPresent();
+    }
+
+    @Test
+    public void addQuestion_whenInputAuthorIsEmpty_ReturnsSameErrorAsServletApi() {
+        QuestionsApiErrorResponse error = webClient.post().uri("/questions")
+                .bodyValue(PostQuestionReplyBody.builder().message("reactive question").build())
+                .exchange()
+                .expectStatus().isEqualTo(422)
+                .expectBody(QuestionsApiErrorResponse.class)
+                .returnResult().getResponseBody();
+        assertThat(error.getErrorCode()).isEqualTo("ERROR008");
+    }
+
+    @Test
+    public void createReply_whenQuestionExists_ReturnsReplyAndCountsIt() {
+        PostReplyResponse reply = webClient.post().uri("/questions/{questionId}/reply", sampleQuestion.getId())
+                .bodyValue(PostQuestionReplyBody.builder().author("replier").message("reactive reply").build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(PostReplyResponse.class)
+                .returnResult().getResponseBody();
+        assertThat(reply.getQuestionId()).isEqualTo(sampleQuestion.getId());
+
+        QuestionsResponse details = webClient.get().uri("/questions/{questionId}", sampleQuestion.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(QuestionsResponse.class)
+                .returnResult().getResponseBody();
+        assertThat(details.getReplies()).hasSize(1);
+        assertThat(details.getReplies().get(0).getId()).isEqualTo(reply.getId());
+        assertThat(details.getNextCursor()).isNull();
+        assertThat(repository.findById(sampleQuestion.getId()).get().getReplyCount()).isEqualTo(1L);
+    }
+
+    @Test
+    public void createReply_whenQuestionIsMissing_ReturnsNotFound() {
+        QuestionsApiErrorResponse error = webClient.post().uri("/questions/{questionId}/reply", Long.MAX_VALUE)
+                .bodyValue(PostQuestionReplyBody.builder().author("replier").message("reactive reply").build())
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody(QuestionsApiErrorResponse.class)
+                .returnResult().getResponseBody();
+        assertThat(error.getErrorCode()).isEqualTo("ERROR002");
+    }
+
+    @Test
+    public void getListOfQuestions_whenPaged_StreamsQuestionsAfterCursor() {
+        QuestionsEntity next = repository.save(QuestionsEntity.builder().message("next message").author("test user").build());
+        List<QuestionDetails> page = webClient.get().uri("/questions?after={after}&limit=1", sampleQuestion.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBodyList(QuestionDetails.class)
+                .returnResult().getResponseBody();
+        assertThat(page).hasSize(1);
+        assertThat(page.get(0).getId()).isEqualTo(next.getId());
+    }
+
+    @Test
+    public void getListOfQuestions_whenNdjsonIsAccepted_StreamsOneQuestionPerLine() {
+        List<QuestionDetails> questions = webClient.get().uri("/questions?after={after}&limit=1", sampleQuestion.getId() - 1)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(QuestionDetails.class)
+                .returnResult().getResponseBody();
+        assertThat(questions).extracting(QuestionDetails::getId).containsExactly(sampleQuestion.getId());
+    }
+
+    @Test
+    public void getListOfQuestions_whenLimitIsInvalid_ReturnsSameErrorAsServletApi() {
+        QuestionsApiErrorResponse error = webClient.get().uri("/questions?limit=0")
+                .exchange()
+                .expectStatus().isEqualTo(422)
+                .expectBody(QuestionsApiErrorResponse.class)
+                .returnResult().getResponseBody();
+        assertThat(error.getErrorCode()).isEqualTo("ERROR010");
+    }
+
+    @Test
+    public void getQuestionDetails_whenQuestionIsMissing_ReturnsNotFound() {
+        QuestionsApiErrorResponse error = webClient.get().uri("/questions/{questionId}", Long.MAX_VALUE)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody(QuestionsApiErrorResponse.class)
+                .returnResult().getResponseBody();
+        assertThat(error.getErrorCode()).isEqualTo("ERROR006");
+    }
+}
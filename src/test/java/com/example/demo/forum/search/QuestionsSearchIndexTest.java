@@ -0,0 +1,62 @@
+package com.example.demo.forum.search;
+
+import com.example.demo.forum.persistence.QuestionsEntity;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit Tests for the ranking of {@link QuestionsSearchIndex}.
+ *
+ * @author Sathish Pendem
+ */
+public class QuestionsSearchIndexTest {
+
+    private QuestionsSearchIndex searchIndex;
+
+    @Before
+    public void init() {
+        searchIndex = new QuestionsSearchIndex(null, null, null);
+        searchIndex.index(post(1l, "alice", "How to configure the H2 database?"));
+        searchIndex.index(post(2l, "bob", "Spring Boot and H2, H2 console not showing"));
+        searchIndex.index(post(3l, "carol", "Caching question details with Caffeine"));
+    }
+
+    /**
+     * Search for a word used more often in one post.
+     *
+     * @result Both matching posts are returned, the post using the word more often first.
+     */
+    @Test
+    public void search_whenTermMatchesManyPosts_RanksByTermFrequency() {
+        assertThat(searchIndex.search("h2", 10)).extracting(QuestionsSearchIndex.Match::getId).containsExactly(2l, 1l);
+    }
+
+    /**
+     * Search with mixed case, punctuation, author names and a limit.
+     *
+     * @result Words are matched case insensitively in authors and messages and only the best matches are returned.
+     */
+    @Test
+    public void search_whenQueryHasManyTerms_ReturnsBestMatchesUpToLimit() {
+        assertThat(searchIndex.search("CAROL, caching!", 10)).extracting(QuestionsSearchIndex.Match::getId).containsExactly(3l);
+        assertThat(searchIndex.search("h2 caffeine", 1)).hasSize(1);
+        assertThat(searchIndex.search("unknown", 10)).isEmpty();
+    }
+
+    /**
+     * Index the same post twice.
+     *
+     * @result The post is only indexed once.
+     */
+    @Test
+    public void index_whenPostIsIndexedAgain_IsIgnored() {
+        searchIndex.index(post(3l, "carol", "Caching question details with Caffeine"));
+        assertThat(searchIndex.size()).isEqualTo(3);
+    }
+
+    private QuestionsEntity post(Long id, String author, String message) {
+        return QuestionsEntity.builder().id(id).author(author).message(message).build();
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.demo.forum.stream;
+
+import com.example.demo.forum.persistence.QuestionsEntity;
+import com.example.demo.forum.persistence.QuestionsRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the end of the reply streams of {@link RepliesStreamHub}, with a short stream timeout, and for the eviction
+ * of stalled subscribers.
+ *
+ * @author Sathish Pendem
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "forum.reply-stream.timeout=500ms")
+@AutoConfigureObservability
+public class RepliesStreamHubTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+    @Autowired
+    private QuestionsRepository repository;
+    @Autowired
+    private MeterRegistry registry;
+    @Autowired
+    private RepliesStreamHub repliesStream;
+
+    /**
+     * Open the reply stream of a question and wait for its timeout without any reply.
+     *
+     * @result The stream ends normally, the subscriber is removed and no API error is counted.
+     */
+    @Test
+    public void subscribe_whenTimeoutElapses_CompletesStreamWithoutError() throws Exception {
+        QuestionsEntity question = repository.save(QuestionsEntity.builder()
+                .message("quiet question")
+                .author("test user")
+                .build());
+        double errors = apiErrors();
+
+        HttpResponse<Stream<String>> stream = HttpClient.newHttpClient().send(HttpRequest.newBuilder(
+                        URI.create(restTemplate.getRootUri() + "/questions/" + question.getId() + "/replies/stream"))
+                .header(HttpHeaders.ACCEPT, MediaType.TEXT_EVENT_STREAM_VALUE)
+                .build(), HttpResponse.BodyHandlers.ofLines());
+        assertThat(stream.statusCode()).isEqualTo(200);
+        List<String> lines = CompletableFuture.supplyAsync(() -> {
+            try (Stream<String> body = stream.body()) {
+                return body.collect(Collectors.toList());  // Returns once the server has ended the stream.
+            }
+        }).get(10, TimeUnit.SECONDS);
+
+        assertThat(lines).contains(":subscribed");
+        assertThat(repliesStream.subscriberCount()).isZero();
+        assertThat(apiErrors()).isEqualTo(errors);
+    }
+
+    /**
+     * Subscribe with a stream whose writes never return.
+     *
+     * @result The subscriber is evicted once its write takes longer than the send timeout, the write is interrupted
+     * and the stream completed.
+     */
+    @Test
+    public void subscribe_whenSendStalls_InterruptsAndCompletesStream() throws Exception {
+        ReplyStreamProperties properties = new ReplyStreamProperties();
+        properties.setSendTimeout(Duration.ofMillis(200));
+        RepliesStreamHub hub = new RepliesStreamHub(properties, new ObjectMapper());
+        CountDownLatch interrupted = new CountDownLatch(1);
+        CountDownLatch completed = new CountDownLatch(1);
+        SseEmitter stalled = new SseEmitter() {
+            @Override
+            public synchronized void send(Set<DataWithMediaType> items) throws IOException {
+                try {
+                    Thread.sleep(Long.MAX_VALUE);  // Client not reading, the socket buffer is full.
+                } catch (InterruptedException ex) {
+                    interrupted.countDown();
+                    throw new InterruptedIOException();
+                }
+            }
+
+            @Override
+            public synchronized void completeWithError(Throwable ex) {
+                completed.countDown();
+            }
+        };
+        try {
+            hub.subscribe(1l, stalled);
+
+            assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(completed.await(5, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            hub.stop();
+        }
+    }
+
+    private double apiErrors() {
+        return registry.find("questions.api.errors").counters().stream().mapToDouble(Counter::count).sum();
+    }
+}
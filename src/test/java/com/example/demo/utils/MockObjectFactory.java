@@ -3,7 +3,11 @@ package com.example.demo.utils;
 import com.example.demo.forum.api.QuestionsApi;
 import com.example.demo.forum.delegates.QuestionControllerDelegate;
 import com.example.demo.forum.model.PostQuestionReplyBody;
+import com.example.demo.forum.model.QuestionDetails;
+import com.example.demo.forum.model.ReplyDetails;
+import com.example.demo.forum.persistence.QuestionRepliesRow;
 import com.example.demo.forum.persistence.QuestionsEntity;
+import com.example.demo.forum.persistence.RepliesEntity;
 
 import java.util.Collections;
 
@@ -19,6 +23,7 @@ public class MockObjectFactory {
                 .message("first message")
                 .author("sample")
                 .id(101l)
+                .version(3l)
                 .replies(Collections.singletonList(createReplyEntity()))
                 .build();
     }
@@ -42,13 +47,38 @@ public class MockObjectFactory {
                 .build();
     }
 
-    public static QuestionsEntity createReplyEntity() {
-        return QuestionsEntity.builder()
+    public static RepliesEntity createReplyEntity() {
+        return RepliesEntity.builder()
                 .message("first message")
                 .author("sample")
-                .parentQuestionId(10l)
+                .questionId(10l)
                 .id(101l)
                 .question(QuestionsEntity.builder().id(10l).build())
                 .build();
     }
+
+    public static QuestionDetails createQuestionDetails() {
+        return createQuestionDetails(101l);
+    }
+
+    public static QuestionDetails createQuestionDetails(Long id) {
+        return QuestionDetails.builder()
+                .message("first message")
+                .author("sample")
+                .id(id)
+                .replies(1l)
+                .build();
+    }
+
+    public static ReplyDetails createReplyDetails() {
+        return ReplyDetails.builder()
+                .message("first message")
+                .author("sample")
+                .id(101l)
+                .build();
+    }
+
+    public static QuestionRepliesRow createQuestionRepliesRow() {
+        return new QuestionRepliesRow(101l, "sample", "first message", 3l, 101l, "sample", "first message");
+    }
 }